@@ -0,0 +1,108 @@
+package api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.FormData;
+import com.microsoft.playwright.options.HttpHeader;
+import com.microsoft.playwright.options.RequestOptions;
+
+import utils.ApiAttachments;
+
+/**
+ * API client for User-related endpoints on Playwright's request context
+ * Same endpoints and payloads as UserApiClient, without the RestAssured / Apache HttpClient stack
+ *
+ * Created with forContext(), requests go through the BrowserContext's own request context:
+ * they share the browser's cookie jar, so a session the API starts is already there when the
+ * page navigates, and cookies the page set are sent with the API calls.
+ *
+ * Not thread-safe: like the BrowserContext it belongs to, use it on the thread that owns the context.
+ */
+public class PlaywrightUserApiClient {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final APIRequestContext request;
+    private final String baseUrl;
+
+    /**
+     * Constructs a client on a Playwright request context
+     * @param request Request context, e.g. BrowserContext.request() or Playwright.request().newContext()
+     * @param baseUrl The base URL for the API (e.g., https://www.automationexercise.com)
+     */
+    public PlaywrightUserApiClient(APIRequestContext request, String baseUrl) {
+        this.request = request;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Client sharing connections and cookies with a browser context
+     * @param context Browser context of the test
+     * @param baseUrl The base URL for the API
+     * @return PlaywrightUserApiClient on the context's request context
+     */
+    public static PlaywrightUserApiClient forContext(BrowserContext context, String baseUrl) {
+        return new PlaywrightUserApiClient(context.request(), baseUrl);
+    }
+
+    /**
+     * Registers a new user via API
+     * @param name User's full name
+     * @param email User's email address
+     * @param password User's password
+     * @return Playwright APIResponse containing status code, headers, and body
+     */
+    public APIResponse register(String name, String email, String password) {
+        return post(UserPayloads.CREATE_ACCOUNT, UserPayloads.registration(name, email, password));
+    }
+
+    /**
+     * Logs in a user via API
+     * @param email User's email address
+     * @param password User's password
+     * @return Playwright APIResponse containing status code, headers, and body
+     */
+    public APIResponse login(String email, String password) {
+        return post(UserPayloads.VERIFY_LOGIN, UserPayloads.login(email, password));
+    }
+
+    private APIResponse post(String path, Map<String, String> fields) {
+        FormData form = FormData.create();
+        fields.forEach(form::set);
+        APIResponse res = request.post(baseUrl + path, RequestOptions.create().setForm(form));
+        attach(res);
+        return res;
+    }
+
+    /**
+     * Attaches API response to Allure report for better debugging, as the attachment policy allows
+     * @param res The Playwright APIResponse to attach
+     */
+    private void attach(APIResponse res) {
+        // Read the response now: its body is released when the request context is disposed
+        byte[] body = res.body();
+        String status = res.status() + " " + res.statusText();
+        List<HttpHeader> headers = res.headersArray();
+        ApiAttachments.record("API Response", () -> pretty(body), () -> body, () -> {
+            StringBuilder text = new StringBuilder(status).append('\n');
+            for (HttpHeader header : headers) {
+                text.append(header.name).append(": ").append(header.value).append('\n');
+            }
+            return text.toString();
+        });
+    }
+
+    private static String pretty(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(objectMapper.readTree(text));
+        } catch (Exception e) {
+            return text;
+        }
+    }
+}
@@ -1,24 +1,47 @@
 package api;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import io.qameta.allure.Allure;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.Header;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import utils.ApiAttachments;
+import utils.HttpConnectionPool;
 
 /**
  * API client for User-related endpoints
  * Provides methods for user registration and login operations
- * Automatically attaches API responses to Allure reports
+ * Attaches API responses to Allure reports according to the ApiAttachments policy
+ *
+ * Thread-safe: the base URL lives in a per-instance request specification (no global
+ * RestAssured state) and all instances share the keep-alive pool of HttpConnectionPool.
  */
 public class UserApiClient {
+    private static final Map<String, UserApiClient> clients = new ConcurrentHashMap<>();
+    
+    private final RequestSpecification spec;
 
     /**
      * Constructs a new UserApiClient with the specified base URL
      * @param baseUrl The base URL for the API (e.g., https://www.automationexercise.com)
      */
     public UserApiClient(String baseUrl) {
-        RestAssured.baseURI = baseUrl;
+        this.spec = new RequestSpecBuilder()
+            .setBaseUri(baseUrl)
+            .setConfig(HttpConnectionPool.config())
+            .build();
+    }
+    
+    /**
+     * Get the client shared by all threads for a base URL
+     * @param baseUrl The base URL for the API
+     * @return Shared UserApiClient instance
+     */
+    public static UserApiClient forBaseUrl(String baseUrl) {
+        return clients.computeIfAbsent(baseUrl, UserApiClient::new);
     }
 
     /**
@@ -29,30 +52,9 @@ public class UserApiClient {
      * @return RestAssured Response object containing status code, headers, and body
      */
     public Response register(String name, String email, String password) {
-        // Extract first and last name from full name
-        String[] nameParts = name.split(" ", 2);
-        String firstName = nameParts.length > 0 ? nameParts[0] : name;
-        String lastName = nameParts.length > 1 ? nameParts[1] : "User";
-        
-        Response res = RestAssured.given()
-            .formParam("name", name)
-            .formParam("email", email)
-            .formParam("password", password)
-            .formParam("title", "Mr")
-            .formParam("birth_date", "1")
-            .formParam("birth_month", "1")
-            .formParam("birth_year", "1990")
-            .formParam("firstname", firstName)
-            .formParam("lastname", lastName)
-            .formParam("company", "TestCompany")
-            .formParam("address1", "123 Test Street")
-            .formParam("address2", "Apt 1")
-            .formParam("country", "United States")
-            .formParam("zipcode", "12345")
-            .formParam("state", "California")
-            .formParam("city", "Los Angeles")
-            .formParam("mobile_number", "1234567890")
-            .post("/api/createAccount");
+        Response res = RestAssured.given(spec)
+            .formParams(UserPayloads.registration(name, email, password))
+            .post(UserPayloads.CREATE_ACCOUNT);
         attach(res);
         return res;
     }
@@ -64,20 +66,24 @@ public class UserApiClient {
      * @return RestAssured Response object containing status code, headers, and body
      */
     public Response login(String email, String password) {
-        Response res = RestAssured.given()
-            .formParam("email", email)
-            .formParam("password", password)
-            .post("/api/verifyLogin");
+        Response res = RestAssured.given(spec)
+            .formParams(UserPayloads.login(email, password))
+            .post(UserPayloads.VERIFY_LOGIN);
         attach(res);
         return res;
     }
 
     /**
-     * Attaches API response to Allure report for better debugging
+     * Attaches API response to Allure report for better debugging, as the attachment policy allows
      * @param res The RestAssured Response object to attach
      */
     private void attach(Response res) {
-        Allure.addAttachment("API Response",
-                new java.io.ByteArrayInputStream(res.asPrettyString().getBytes(StandardCharsets.UTF_8)));
+        ApiAttachments.record("API Response", res::asPrettyString, res::asByteArray, () -> {
+            StringBuilder text = new StringBuilder(res.getStatusLine()).append('\n');
+            for (Header header : res.getHeaders()) {
+                text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+            }
+            return text.toString();
+        });
     }
 }
@@ -0,0 +1,63 @@
+package api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Form payloads and paths of the User API endpoints
+ * Shared by the RestAssured and the Playwright API clients
+ */
+public final class UserPayloads {
+    public static final String CREATE_ACCOUNT = "/api/createAccount";
+    public static final String VERIFY_LOGIN = "/api/verifyLogin";
+
+    private UserPayloads() {
+    }
+
+    /**
+     * Form fields of a registration request
+     * @param name User's full name
+     * @param email User's email address
+     * @param password User's password
+     * @return Ordered form fields
+     */
+    public static Map<String, String> registration(String name, String email, String password) {
+        // Extract first and last name from full name
+        String[] nameParts = name.split(" ", 2);
+        String firstName = nameParts.length > 0 ? nameParts[0] : name;
+        String lastName = nameParts.length > 1 ? nameParts[1] : "User";
+
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("name", name);
+        form.put("email", email);
+        form.put("password", password);
+        form.put("title", "Mr");
+        form.put("birth_date", "1");
+        form.put("birth_month", "1");
+        form.put("birth_year", "1990");
+        form.put("firstname", firstName);
+        form.put("lastname", lastName);
+        form.put("company", "TestCompany");
+        form.put("address1", "123 Test Street");
+        form.put("address2", "Apt 1");
+        form.put("country", "United States");
+        form.put("zipcode", "12345");
+        form.put("state", "California");
+        form.put("city", "Los Angeles");
+        form.put("mobile_number", "1234567890");
+        return form;
+    }
+
+    /**
+     * Form fields of a login request
+     * @param email User's email address
+     * @param password User's password
+     * @return Ordered form fields
+     */
+    public static Map<String, String> login(String email, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", email);
+        form.put("password", password);
+        return form;
+    }
+}
@@ -1,29 +1,75 @@
 package base;
 
+import java.util.Arrays;
+
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import org.testng.xml.XmlTest;
 
 import com.microsoft.playwright.Page;
 
-import io.qameta.allure.Attachment;
+import utils.ArtifactPipeline;
 import utils.BrowserManager;
+import utils.RequestBlocker;
 
 /**
  * Base Test Class - Single Responsibility: Test Lifecycle Management
  * Manages browser initialization and cleanup for each test method
  * Uses BrowserManager for browser operations (SRP)
+ *
+ * How much browser state tests share is chosen per method or class with {@link Isolation},
+ * per &lt;test&gt; block with the "isolation" parameter, or with -Disolation (see IsolationLevel).
+ * Without any of these, the browser lifecycle setting applies.
+ *
+ * The page is never stored in the test instance: it is bound to the worker thread by
+ * BrowserManager, so methods of one instance and parallel data provider rows can run
+ * concurrently. Tests access it through getPage().
  */
 public class BaseTest {
-    protected Page page;
+    private static final ThreadLocal<IsolationLevel> isolationThread = new ThreadLocal<>();
     
     /**
      * Setup method - runs before EACH test method
-     * Creates a fresh browser instance for complete test isolation
+     * Provides a page with the isolation level configured for the test
      */
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
+    public void setUp(ITestContext context, ITestResult result) {
+        // Engine and lifecycle may be set per <test> block (cross-browser matrix)
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        IsolationLevel isolation = IsolationLevel.resolve(
+            result.getMethod().getConstructorOrMethod().getMethod(), getClass(), xmlTest.getParameter("isolation"));
+        isolationThread.set(isolation);
+        String lifecycle = isolation != null ? isolation.lifecycle().name() : xmlTest.getParameter("browserLifecycle");
+        BrowserManager.configureThread(resolveEngine(xmlTest), lifecycle);
+        
+        // Name per-test artifacts (HAR files) after the test and its data row
+        String testId = getClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        if (result.getParameters().length > 0) {
+            testId += "_" + Integer.toHexString(Arrays.deepToString(result.getParameters()).hashCode());
+        }
+        BrowserManager.setTestId(testId);
+        
         // Initialize browser for this test
-        page = BrowserManager.initializeBrowser();
+        openPage();
+    }
+
+    /**
+     * Engine of a <test> block: its browser parameter wins, so a matrix block labelled
+     * firefox always runs firefox. Without the parameter, -Dbrowser applies (null here).
+     * A -Dbrowser that contradicts the block's parameter fails fast instead of mislabelling results.
+     */
+    private static String resolveEngine(XmlTest xmlTest) {
+        String parameter = xmlTest.getParameter("browser");
+        String property = System.getProperty("browser");
+        if (parameter != null && property != null && !parameter.equalsIgnoreCase(property)) {
+            throw new IllegalStateException(String.format(
+                "-Dbrowser=%s conflicts with browser=%s of <test name=\"%s\">. " +
+                "Drop -Dbrowser or run a suite without per-block browsers.", property, parameter, xmlTest.getName()));
+        }
+        return parameter;
     }
 
     /**
@@ -31,44 +77,76 @@ public class BaseTest {
      * Captures screenshot on failure and closes browser
      */
     @AfterMethod(alwaysRun = true)
-    public void tearDown(org.testng.ITestResult result) {
+    public void tearDown(ITestResult result) {
         try {
-            // Capture screenshot if test failed
-            if (!result.isSuccess() && page != null && !page.isClosed()) {
-                captureScreenshot("Failed_" + result.getMethod().getMethodName());
+            // Capture failure artifacts once; encoding and writing happen in the background
+            if (!result.isSuccess()) {
+                ArtifactPipeline.captureFailure(result, BrowserManager.getPage());
             }
         } catch (Exception e) {
             // Ignore screenshot capture errors
         } finally {
-            // Always close browser to prevent leaks
-            BrowserManager.closeBrowser();
+            // Record what the blocking profile kept off the network
+            RequestBlocker.attachStats();
+            
+            // Always close browser to prevent leaks; a class-scoped context stays open for the next method
+            if (isolationThread.get() == IsolationLevel.CLASS) {
+                BrowserManager.releaseSharedBrowser(!result.isSuccess());
+            } else {
+                BrowserManager.closeBrowser(!result.isSuccess());
+            }
+        }
+    }
+    
+    /**
+     * Close the class-scoped context (CLASS isolation) once all methods of the class have run
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        BrowserManager.closeSharedBrowser(getClass().getName());
+    }
+    
+    /**
+     * Create or reuse the page according to the isolation level of the current test
+     */
+    private Page openPage() {
+        if (isolationThread.get() == IsolationLevel.CLASS) {
+            return BrowserManager.initializeSharedBrowser(getClass().getName());
         }
+        return BrowserManager.initializeBrowser();
     }
     
     /**
      * Capture and attach screenshot to Allure report
      * @param name Screenshot name
-     * @return Screenshot as byte array
      */
-    @Attachment(value = "{name}", type = "image/png")
-    protected byte[] captureScreenshot(String name) {
+    protected void captureScreenshot(String name) {
         try {
-            if (page != null && !page.isClosed()) {
-                return page.screenshot();
-            }
+            ArtifactPipeline.capture(BrowserManager.getPage(), name);
         } catch (Exception e) {
             System.err.println("Failed to capture screenshot: " + e.getMessage());
         }
-        return new byte[0];
     }
     
     /**
-     * Get current page instance
+     * Replace the current page with one whose context is already logged in.
+     * Skips the UI login for tests that only need an authenticated starting point.
+     * @param email User's email address
+     * @param password User's password
+     * @return Page of the authenticated context
+     */
+    protected Page startLoggedIn(String email, String password) {
+        return BrowserManager.initializeAuthenticatedBrowser(email, password);
+    }
+    
+    /**
+     * Get the page of the current worker thread, reopening it if it was closed
      * @return Current Page object
      */
     protected Page getPage() {
+        Page page = BrowserManager.getPage();
         if (page == null || page.isClosed()) {
-            page = BrowserManager.initializeBrowser();
+            page = openPage();
         }
         return page;
     }
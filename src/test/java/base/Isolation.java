@@ -0,0 +1,18 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Select the isolation level of a test class or a single test method.
+ * Takes precedence over the "isolation" suite parameter and -Disolation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface Isolation {
+    IsolationLevel value();
+}
@@ -0,0 +1,54 @@
+package base;
+
+import java.lang.reflect.Method;
+
+import utils.BrowserManager;
+import utils.ConfigManager;
+
+/**
+ * Isolation Level - how much browser state a test shares with other tests
+ *
+ * - METHOD: a new browser, context and page for every test method (strictest)
+ * - SUITE:  the worker thread's browser is shared, every test method gets a new context
+ * - CLASS:  one context and page shared by the test methods of a class (per worker thread),
+ *           meant for read-only checks; the context is replaced after a failed test
+ */
+public enum IsolationLevel {
+    METHOD(BrowserManager.Lifecycle.TEST),
+    SUITE(BrowserManager.Lifecycle.WORKER),
+    CLASS(BrowserManager.Lifecycle.WORKER);
+
+    private final BrowserManager.Lifecycle lifecycle;
+
+    IsolationLevel(BrowserManager.Lifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    /**
+     * Browser lifecycle the worker thread needs for this level
+     */
+    public BrowserManager.Lifecycle lifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Resolve the isolation level of a test method. The most specific setting wins:
+     * {@link Isolation} on the method, on the class, the "isolation" parameter of the
+     * &lt;test&gt; block, then -Disolation.
+     * @param method Test method
+     * @param testClass Test class
+     * @param suiteParameter Value of the "isolation" suite parameter, may be null
+     * @return Isolation level, or null if none is configured (the browser lifecycle setting applies)
+     */
+    public static IsolationLevel resolve(Method method, Class<?> testClass, String suiteParameter) {
+        Isolation annotation = method != null ? method.getAnnotation(Isolation.class) : null;
+        if (annotation == null) {
+            annotation = testClass.getAnnotation(Isolation.class);
+        }
+        if (annotation != null) {
+            return annotation.value();
+        }
+        String value = suiteParameter != null ? suiteParameter : ConfigManager.get("isolation");
+        return value != null ? valueOf(value.trim().toUpperCase()) : null;
+    }
+}
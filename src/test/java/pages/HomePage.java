@@ -2,6 +2,9 @@ package pages;
 
 import com.microsoft.playwright.Page;
 
+import utils.BrowserManager;
+import utils.NavigationStrategy;
+
 /**
  * Page Object Model for the Home Page
  * Provides methods to interact with the home page elements
@@ -9,6 +12,13 @@ import com.microsoft.playwright.Page;
 public class HomePage {
     private final Page page;
 
+    /**
+     * Constructs a new HomePage object on the current worker thread's page
+     */
+    public HomePage() {
+        this(BrowserManager.getPage());
+    }
+
     /**
      * Constructs a new HomePage object
      * @param page Playwright Page instance
@@ -22,8 +32,8 @@ public class HomePage {
      * @param baseUrl The URL to navigate to
      */
     public void navigate(String baseUrl) {
-        page.navigate(baseUrl);
-        page.waitForLoadState();
+        // Header links are server-rendered, so the parsed HTML is enough
+        NavigationStrategy.navigate(page, "HomePage.navigate", NavigationStrategy.DOMCONTENTLOADED, baseUrl);
     }
 
     /**
@@ -38,8 +48,8 @@ public class HomePage {
      * Clicks on the 'Signup / Login' link to navigate to registration/login page
      */
     public void goToSignupLogin() {
-        page.locator("a[href='/login']").click();
-        page.waitForLoadState();
+        NavigationStrategy.perform(page, "HomePage.goToSignupLogin", NavigationStrategy.DOMCONTENTLOADED,
+            () -> page.locator("a[href='/login']").click());
     }
     
     /**
@@ -1,14 +1,31 @@
 package pages;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
+import utils.BrowserManager;
+import utils.NavigationStrategy;
+import utils.OutcomeRace;
+
 /**
  * Page Object Model for the Login Page
  * Provides methods to interact with login form elements and validate login results
  */
 public class LoginPage {
+    public static final String SUCCESS = "SUCCESS";
+    public static final String ERROR = "ERROR";
+    public static final String INVALID_INPUT = "INVALID_INPUT";
+    
     private final Page page;
+    private OutcomeRace.Submission lastSubmission;
     
+    /**
+     * Constructs a new LoginPage object on the current worker thread's page
+     */
+    public LoginPage() {
+        this(BrowserManager.getPage());
+    }
+
     /**
      * Constructs a new LoginPage object
      * @param page Playwright Page instance
@@ -48,9 +65,11 @@ public class LoginPage {
     /**
      * Clicks the login button to submit the form
      */
-    public void submitLogin() { 
-        page.locator("button[data-qa='login-button']").click();
-        page.waitForLoadState();
+    public void submitLogin() {
+        // The result is read with awaitLoginOutcome(), which waits for whichever page follows
+        Locator button = page.locator("button[data-qa='login-button']");
+        lastSubmission = OutcomeRace.checkSubmit(page, button);
+        NavigationStrategy.perform(page, "LoginPage.submitLogin", NavigationStrategy.COMMIT, button::click);
     }
     
     /**
@@ -76,6 +95,22 @@ public class LoginPage {
         }
     }
     
+    /**
+     * Waits for the result of submitting the login form: logged in, credentials rejected,
+     * or the browser refusing to submit invalid input (empty or malformed fields).
+     * INVALID_INPUT is only reported when the form was invalid before the click and no navigation followed.
+     * @return Winning outcome (SUCCESS, ERROR, INVALID_INPUT or OutcomeRace.NONE) and elapsed time
+     */
+    public OutcomeRace.Result awaitLoginOutcome() {
+        if (lastSubmission != null && lastSubmission.wasBlocked()) {
+            return OutcomeRace.settled(INVALID_INPUT);
+        }
+        return OutcomeRace.on(page)
+            .text(SUCCESS, "Logged in as")
+            .text(ERROR, "Your email or password is incorrect")
+            .await();
+    }
+    
     /**
      * Verifies login was successful by checking for username
      * @param username Expected username
@@ -83,6 +118,23 @@ public class LoginPage {
      */
     public boolean verifyLoginSuccess(String username) {
         try {
+            return verifyLoginSuccess(username, awaitLoginOutcome());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies login was successful against an outcome the caller already waited for
+     * @param username Expected username
+     * @param outcome Result of awaitLoginOutcome()
+     * @return true if logged in as expected user
+     */
+    public boolean verifyLoginSuccess(String username, OutcomeRace.Result outcome) {
+        try {
+            if (!outcome.is(SUCCESS)) {
+                return false;
+            }
             // Use text locator to find "Logged in as {username}" - matches TypeScript implementation
             String expectedText = "Logged in as " + username;
             String loggedInText = page.locator("text=" + expectedText).textContent();
@@ -99,7 +151,7 @@ public class LoginPage {
     public boolean verifyLoginFailure() {
         try {
             // Matches TypeScript: "text=Your email or password is"
-            return page.locator("text=Your email or password is").isVisible();
+            return awaitLoginOutcome().is(ERROR);
         } catch (Exception e) {
             return false;
         }
@@ -1,14 +1,33 @@
 package pages;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
+import utils.BrowserManager;
+import utils.FormFiller;
+import utils.NavigationStrategy;
+import utils.OutcomeRace;
+
 /**
  * Page Object Model for the Registration Page
  * Provides methods to interact with signup/registration form elements
  */
 public class RegistrationPage {
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID_INPUT = "INVALID_INPUT";
+    public static final String ACCOUNT_FORM = "ACCOUNT_FORM";
+    
     private final Page page;
+    private OutcomeRace.Submission lastSubmission;
     
+    /**
+     * Constructs a new RegistrationPage object on the current worker thread's page
+     */
+    public RegistrationPage() {
+        this(BrowserManager.getPage());
+    }
+
     /**
      * Constructs a new RegistrationPage object
      * @param page Playwright Page instance
@@ -37,8 +56,10 @@ public class RegistrationPage {
     public void startSignup(String name, String email) {
         page.locator("input[data-qa='signup-name']").fill(name);
         page.locator("input[data-qa='signup-email']").fill(email);
-        page.locator("button[data-qa='signup-button']").click();
-        page.waitForLoadState();
+        Locator button = page.locator("button[data-qa='signup-button']");
+        lastSubmission = OutcomeRace.checkSubmit(page, button);
+        NavigationStrategy.perform(page, "RegistrationPage.startSignup", NavigationStrategy.DOMCONTENTLOADED,
+            button::click);
     }
 
     /**
@@ -58,22 +79,24 @@ public class RegistrationPage {
      * @param password User's password
      */
     public void fillAccountDetails(String password) {
-        page.locator("#id_gender1").check();
-        page.locator("#password").fill(password);
-        page.locator("#days").selectOption("10");
-        page.locator("#months").selectOption("5");
-        page.locator("#years").selectOption("1994");
-        page.locator("#newsletter").check();
-        page.locator("#optin").check();
-        page.locator("#first_name").fill("Test");
-        page.locator("#last_name").fill("User");
-        page.locator("#company").fill("DemoCo");
-        page.locator("#address1").fill("123 Test St");
-        page.locator("#country").selectOption("Canada");
-        page.locator("#state").fill("ON");
-        page.locator("#city").fill("Toronto");
-        page.locator("#zipcode").fill("A1A1A1");
-        page.locator("#mobile_number").fill("+1234567890");
+        FormFiller.on(page)
+            .check("#id_gender1")
+            .fill("#password", password)
+            .select("#days", "10")
+            .select("#months", "5")
+            .select("#years", "1994")
+            .check("#newsletter")
+            .check("#optin")
+            .fill("#first_name", "Test")
+            .fill("#last_name", "User")
+            .fill("#company", "DemoCo")
+            .fill("#address1", "123 Test St")
+            .select("#country", "Canada")
+            .fill("#state", "ON")
+            .fill("#city", "Toronto")
+            .fill("#zipcode", "A1A1A1")
+            .fill("#mobile_number", "+1234567890")
+            .apply();
     }
     
     /**
@@ -82,42 +105,78 @@ public class RegistrationPage {
      */
     @SuppressWarnings("unchecked")
     public void fillAccountDetailsFromData(java.util.Map<String, Object> details) {
-        // Title (Gender)
-        page.locator("input[id='id_gender1']").check();
-        
-        // Name and Password
-        page.locator("input[name='name']").fill((String) details.get("name"));
-        page.locator("input[name='password']").fill((String) details.get("password"));
-        
-        // Date of Birth
         java.util.Map<String, Object> dob = (java.util.Map<String, Object>) details.get("dob");
-        page.locator("#days").selectOption((String) dob.get("day"));
-        page.locator("#months").selectOption((String) dob.get("month"));
-        page.locator("#years").selectOption((String) dob.get("year"));
         
-        // Checkboxes
-        page.locator("input[name='newsletter']").check();
-        page.locator("input[name='optin']").check();
-        
-        // Additional details
-        page.locator("input[name='first_name']").fill((String) details.get("firstName"));
-        page.locator("input[name='last_name']").fill((String) details.get("lastName"));
-        page.locator("input[name='company']").fill((String) details.get("company"));
-        page.locator("input[name='address1']").fill((String) details.get("address"));
-        page.locator("input[name='address2']").fill((String) details.get("address2"));
-        page.locator("#country").selectOption((String) details.get("country"));
-        page.locator("input[name='state']").fill((String) details.get("state"));
-        page.locator("input[name='city']").fill((String) details.get("city"));
-        page.locator("input[name='zipcode']").fill((String) details.get("zipcode"));
-        page.locator("input[name='mobile_number']").fill((String) details.get("mobileNumber"));
+        FormFiller.on(page)
+            // Title (Gender)
+            .check("input[id='id_gender1']")
+            // Name and Password
+            .fill("input[name='name']", (String) details.get("name"))
+            .fill("input[name='password']", (String) details.get("password"))
+            // Date of Birth
+            .select("#days", (String) dob.get("day"))
+            .select("#months", (String) dob.get("month"))
+            .select("#years", (String) dob.get("year"))
+            // Checkboxes
+            .check("input[name='newsletter']")
+            .check("input[name='optin']")
+            // Additional details
+            .fill("input[name='first_name']", (String) details.get("firstName"))
+            .fill("input[name='last_name']", (String) details.get("lastName"))
+            .fill("input[name='company']", (String) details.get("company"))
+            .fill("input[name='address1']", (String) details.get("address"))
+            .fill("input[name='address2']", (String) details.get("address2"))
+            .select("#country", (String) details.get("country"))
+            .fill("input[name='state']", (String) details.get("state"))
+            .fill("input[name='city']", (String) details.get("city"))
+            .fill("input[name='zipcode']", (String) details.get("zipcode"))
+            .fill("input[name='mobile_number']", (String) details.get("mobileNumber"))
+            .apply();
     }
 
     /**
      * Submits the account creation form
      */
     public void submitAccount() {
-        page.locator("button[data-qa='create-account']").click();
-        page.waitForLoadState();
+        // The result is read with awaitRegistrationOutcome(), which waits for whichever page follows
+        Locator button = page.locator("button[data-qa='create-account']");
+        lastSubmission = OutcomeRace.checkSubmit(page, button);
+        NavigationStrategy.perform(page, "RegistrationPage.submitAccount", NavigationStrategy.COMMIT, button::click);
+    }
+
+    /**
+     * Waits for the result of submitting the signup or account form: account created,
+     * duplicate email, or the browser refusing to submit invalid input.
+     * INVALID_INPUT is only reported when the form was invalid before the click and no navigation followed.
+     * @return Winning outcome (CREATED, DUPLICATE, INVALID_INPUT or OutcomeRace.NONE) and elapsed time
+     */
+    public OutcomeRace.Result awaitRegistrationOutcome() {
+        if (lastSubmission != null && lastSubmission.wasBlocked()) {
+            return OutcomeRace.settled(INVALID_INPUT);
+        }
+        return OutcomeRace.on(page)
+            // Multiple ways to detect account creation success, URL first - most reliable
+            .url(CREATED, "/account_created")
+            .selector(CREATED, "h2[data-qa='account-created']")
+            .text(CREATED, "Account Created!")
+            .text(DUPLICATE, "Email Address already exist!")
+            .await();
+    }
+
+    /**
+     * Waits for the result of submitting the signup form (name and email): the account
+     * information form, duplicate email, or the browser refusing to submit invalid input.
+     * Use after startSignup(); after submitAccount() the account form is still shown, use awaitRegistrationOutcome().
+     * @return Winning outcome (ACCOUNT_FORM, DUPLICATE, INVALID_INPUT or OutcomeRace.NONE) and elapsed time
+     */
+    public OutcomeRace.Result awaitSignupOutcome() {
+        if (lastSubmission != null && lastSubmission.wasBlocked()) {
+            return OutcomeRace.settled(INVALID_INPUT);
+        }
+        return OutcomeRace.on(page)
+            .text(ACCOUNT_FORM, "Enter Account Information")
+            .text(DUPLICATE, "Email Address already exist!")
+            .await();
     }
 
     /**
@@ -126,30 +185,19 @@ public class RegistrationPage {
      */
     public boolean isAccountCreated() {
         try {
-            // Multiple ways to detect account creation success
-            // 1. Check URL - most reliable
-            if (page.url().contains("/account_created")) {
-                return true;
-            }
-            
-            // 2. Check for success heading (various formats the site might use)
-            return page.locator("h2[data-qa='account-created']").isVisible() ||
-                   page.locator("text=ACCOUNT CREATED!").isVisible() ||
-                   page.locator("text=Account Created!").isVisible() ||
-                   page.locator("h2:has-text('Account Created')").isVisible() ||
-                   page.locator("b:has-text('ACCOUNT CREATED')").isVisible();
+            return awaitRegistrationOutcome().is(CREATED);
         } catch (Exception e) {
             return false;
         }
     }
     
     /**
-     * Verifies if duplicate email error is shown
-     * @return true if error message is visible
+     * Verifies if duplicate email error is shown after submitting the signup form
+     * @return true if the signup was answered with the duplicate email error
      */
     public boolean isDuplicateEmailError() {
         try {
-            return page.locator("text=Email Address already exist!").isVisible();
+            return awaitSignupOutcome().is(DUPLICATE);
         } catch (Exception e) {
             return false;
         }
@@ -6,6 +6,7 @@ import java.util.Map;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import api.UserApiClient;
@@ -16,11 +17,13 @@ import io.qameta.allure.Story;
 import io.restassured.response.Response;
 import utils.ConfigManager;
 import utils.DataUtils;
+import utils.TestListeners;
 
 /**
  * API test suite for User Registration functionality
  * Tests cover positive scenarios, negative scenarios, and edge cases
  */
+@Listeners({TestListeners.class})
 @Epic("API")
 @Feature("Registration")
 public class RegistrationAPITests {
@@ -30,7 +33,7 @@ public class RegistrationAPITests {
     @BeforeClass
     public void setup() {
         String baseUrl = ConfigManager.getBaseUrl();
-        api = new UserApiClient(baseUrl);
+        api = UserApiClient.forBaseUrl(baseUrl);
     }
 
     @DataProvider(name = "validUsers")
@@ -6,7 +6,9 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import api.UserApiClient;
+import com.microsoft.playwright.APIResponse;
+
+import api.PlaywrightUserApiClient;
 import base.BaseTest;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
@@ -17,8 +19,12 @@ import pages.HomePage;
 import pages.LoginPage;
 import utils.AssertionHelper;
 import utils.ConfigManager;
+import utils.FlowRouter;
+import utils.OutcomeRace;
 import utils.TestDataManager;
 import utils.TestListeners;
+import utils.TestUserRegistry;
+import utils.Waits;
 
 /**
  * Login UI Tests - Single Responsibility: User Login Testing
@@ -34,7 +40,7 @@ public class LoginUITests extends BaseTest {
      * Data Provider for valid login scenarios
      * Loads test data from external JSON file (Data-Driven Testing)
      */
-    @DataProvider(name = "validLogins")
+    @DataProvider(name = "validLogins", parallel = true)
     public Object[][] validLoginData() {
         return TestDataManager.toDataProvider("logins.json");
     }
@@ -43,7 +49,7 @@ public class LoginUITests extends BaseTest {
      * Data Provider for invalid login scenarios
      * Generates various invalid login combinations
      */
-    @DataProvider(name = "invalidLogins")
+    @DataProvider(name = "invalidLogins", parallel = true)
     public Object[][] invalidLoginData() {
         return new Object[][] {
             { "nonexistent@test.com", "wrongpass", "Non-existent user login" },
@@ -71,14 +77,16 @@ public class LoginUITests extends BaseTest {
         ensureUserExists(email, password, userName);
         
         // Page objects
-        HomePage homePage = new HomePage(page);
-        LoginPage loginPage = new LoginPage(page);
+        HomePage homePage = new HomePage();
+        LoginPage loginPage = new LoginPage();
         
-        // Execute login flow
-        navigateToHomePage(homePage);
-        navigateToLogin(homePage);
+        // Execute login flow through the home page (the navigation is part of this test)
+        FlowRouter.clickThrough(FlowRouter.LOGIN, () -> {
+            navigateToHomePage(homePage);
+            navigateToLogin(homePage);
+        });
         performLogin(loginPage, email, password);
-        verifySuccessfulLogin(loginPage, homePage, userName);
+        verifySuccessfulLogin(loginPage, homePage, email, userName);
     }
     
     /**
@@ -90,12 +98,11 @@ public class LoginUITests extends BaseTest {
     @Description("Verify system properly handles invalid login attempts with appropriate error messages")
     public void testInvalidLogin(String email, String password, String scenario) {
         // Page objects
-        HomePage homePage = new HomePage(page);
-        LoginPage loginPage = new LoginPage(page);
+        HomePage homePage = new HomePage();
+        LoginPage loginPage = new LoginPage();
         
         // Execute invalid login
-        navigateToHomePage(homePage);
-        navigateToLogin(homePage);
+        openLoginPage(homePage);
         performLogin(loginPage, email, password);
         
         // Verify error handling
@@ -121,12 +128,11 @@ public class LoginUITests extends BaseTest {
         ensureUserExists(email, validPassword, userName);
         
         // Page objects
-        HomePage homePage = new HomePage(page);
-        LoginPage loginPage = new LoginPage(page);
+        HomePage homePage = new HomePage();
+        LoginPage loginPage = new LoginPage();
         
         // Try login with wrong password
-        navigateToHomePage(homePage);
-        navigateToLogin(homePage);
+        openLoginPage(homePage);
         performLogin(loginPage, email, invalidPassword);
         
         // Verify specific error
@@ -152,21 +158,24 @@ public class LoginUITests extends BaseTest {
         String password = (String) loginData.get("validPassword");
         String userName = (String) loginData.get("name");
         
-        // Ensure user exists and login
+        // Ensure user exists and start from a cached logged-in session
         ensureUserExists(email, password, userName);
+        startLoggedIn(email, password);
         
-        HomePage homePage = new HomePage(page);
-        LoginPage loginPage = new LoginPage(page);
+        HomePage homePage = new HomePage();
         
-        // Login
         navigateToHomePage(homePage);
-        navigateToLogin(homePage);
-        performLogin(loginPage, email, password);
-        verifySuccessfulLogin(loginPage, homePage, userName);
+        AssertionHelper.assertCondition(
+            homePage.verifyLoggedIn(userName),
+            "User starts logged in from cached session",
+            String.format("User '%s' should be logged in from the cached session, but is not. " +
+                "The session may have expired on the server.", userName)
+        );
         
         // Navigate away and back
         homePage.navigate(ConfigManager.getBaseUrl() + "/products");
-        page.waitForTimeout(1000);
+        Waits.forUrl(getPage(), url -> url.contains("/products"));
+        Waits.forFirstPartyIdle(getPage());
         homePage.navigate(ConfigManager.getBaseUrl());
         
         // Verify still logged in
@@ -188,13 +197,12 @@ public class LoginUITests extends BaseTest {
         String email = "bruteforce@test.com";
         String wrongPassword = "wrongpass123";
         
-        HomePage homePage = new HomePage(page);
-        LoginPage loginPage = new LoginPage(page);
+        HomePage homePage = new HomePage();
+        LoginPage loginPage = new LoginPage();
         
         // Attempt multiple failed logins
         for (int i = 1; i <= 3; i++) {
-            navigateToHomePage(homePage);
-            navigateToLogin(homePage);
+            openLoginPage(homePage);
             performLogin(loginPage, email, wrongPassword);
             
             AssertionHelper.softAssert(
@@ -234,7 +242,17 @@ public class LoginUITests extends BaseTest {
     @Step("Navigate to login page")
     private void navigateToLogin(HomePage homePage) {
         homePage.goToSignupLogin();
-        TestListeners.currentPage.set(page);
+    }
+    
+    /**
+     * Open the page with the login and signup forms; by deep link unless the flow router is disabled
+     */
+    @Step("Open login page")
+    private void openLoginPage(HomePage homePage) {
+        FlowRouter.reach(getPage(), FlowRouter.LOGIN, () -> {
+            navigateToHomePage(homePage);
+            navigateToLogin(homePage);
+        });
     }
     
     /**
@@ -252,11 +270,17 @@ public class LoginUITests extends BaseTest {
     
     /**
      * Verify successful login
+     * If the site rejects the credentials, the user is dropped from TestUserRegistry,
+     * so the next run provisions it again instead of trusting the cached verification.
      */
     @Step("Verify successful login for user: {userName}")
-    private void verifySuccessfulLogin(LoginPage loginPage, HomePage homePage, String userName) {
+    private void verifySuccessfulLogin(LoginPage loginPage, HomePage homePage, String email, String userName) {
+        OutcomeRace.Result outcome = loginPage.awaitLoginOutcome();
+        if (outcome.is(LoginPage.ERROR)) {
+            TestUserRegistry.invalidate(email);
+        }
         AssertionHelper.assertLoginState(
-            loginPage.verifyLoginSuccess(userName),
+            loginPage.verifyLoginSuccess(userName, outcome),
             userName,
             true
         );
@@ -274,8 +298,10 @@ public class LoginUITests extends BaseTest {
      */
     @Step("Verify login failure for scenario: {scenario}")
     private void verifyLoginFailure(LoginPage loginPage, String scenario) {
+        // Rejected credentials and input the browser refuses to submit both count as failure
+        OutcomeRace.Result outcome = loginPage.awaitLoginOutcome();
         AssertionHelper.assertCondition(
-            loginPage.verifyLoginFailure() || loginPage.verifyLoginPage(),
+            outcome.is(LoginPage.ERROR) || outcome.is(LoginPage.INVALID_INPUT) || loginPage.verifyLoginPage(),
             "Login fails as expected",
             String.format("Login should fail for scenario '%s', but no error was shown. " +
                 "Validation may be missing.", scenario)
@@ -284,29 +310,32 @@ public class LoginUITests extends BaseTest {
     
     /**
      * Ensure user exists via API (test prerequisite)
-     * Uses API to create user if needed, avoiding test dependencies
+     * Uses API to create user if needed, avoiding test dependencies.
+     * TestUserRegistry runs this once per user and run, and skips it while the user's
+     * last verification is fresh; calls go through the test's browser context.
      */
     @Step("Ensure test user exists: {email}")
     private void ensureUserExists(String email, String password, String userName) {
         try {
-            UserApiClient apiClient = new UserApiClient(ConfigManager.getBaseUrl());
-            
-            // Try to login via API first
-            io.restassured.response.Response loginResponse = apiClient.login(email, password);
-            
-            // If user doesn't exist, register via API
-            if (loginResponse.statusCode() == 404 || 
-                !loginResponse.asString().toLowerCase().contains("user exists")) {
-                
-                io.restassured.response.Response registerResponse = 
-                    apiClient.register(userName, email, password);
-                    
-                System.out.println("Test prerequisite: User registered via API - " + 
-                    registerResponse.getStatusCode());
-                    
-                // Brief wait for registration to propagate
-                page.waitForTimeout(1000);
-            }
+            TestUserRegistry.ensure(email, () -> {
+                PlaywrightUserApiClient apiClient =
+                    PlaywrightUserApiClient.forContext(getPage().context(), ConfigManager.getBaseUrl());
+
+                // Try to login via API first
+                APIResponse loginResponse = apiClient.login(email, password);
+                if (loginResponse.text().toLowerCase().contains("user exists")) {
+                    return;
+                }
+
+                // User doesn't exist, register via API
+                APIResponse registerResponse = apiClient.register(userName, email, password);
+                String body = registerResponse.text().toLowerCase();
+                if (!body.contains("user created") && !body.contains("already exists")) {
+                    throw new IllegalStateException("Registration was not confirmed: " + registerResponse.text());
+                }
+                System.out.println("Test prerequisite: User registered via API - " +
+                    registerResponse.status());
+            });
         } catch (Exception e) {
             System.err.println("Warning: Could not ensure user exists via API - " + e.getMessage());
             // Continue with test anyway
@@ -16,6 +16,8 @@ import pages.HomePage;
 import pages.RegistrationPage;
 import utils.AssertionHelper;
 import utils.ConfigManager;
+import utils.FlowRouter;
+import utils.OutcomeRace;
 import utils.TestDataManager;
 import utils.TestListeners;
 
@@ -33,7 +35,7 @@ public class RegistrationUITests extends BaseTest {
      * Data Provider for valid registration scenarios
      * Loads test data from external JSON file (Data-Driven Testing)
      */
-    @DataProvider(name = "validRegistrations")
+    @DataProvider(name = "validRegistrations", parallel = true)
     public Object[][] validRegistrationData() {
         return TestDataManager.toDataProvider("datasets.json");
     }
@@ -65,12 +67,11 @@ public class RegistrationUITests extends BaseTest {
         testData.put("email", email); // Override with unique email
         
         // Page objects initialization
-        HomePage homePage = new HomePage(page);
-        RegistrationPage registrationPage = new RegistrationPage(page);
+        HomePage homePage = new HomePage();
+        RegistrationPage registrationPage = new RegistrationPage();
         
         // Test execution with clear steps
-        navigateToHomePage(homePage);
-        navigateToRegistration(homePage);
+        openRegistrationPage(homePage);
         fillSignupForm(registrationPage, testData);
         fillAccountDetails(registrationPage, testData);
         verifyRegistrationSuccess(registrationPage);
@@ -90,22 +91,21 @@ public class RegistrationUITests extends BaseTest {
         String password = TestDataManager.generateRandomPassword();
         
         // Page objects
-        HomePage homePage = new HomePage(page);
-        RegistrationPage registrationPage = new RegistrationPage(page);
+        HomePage homePage = new HomePage();
+        RegistrationPage registrationPage = new RegistrationPage();
         
         // First registration (may already exist)
         performQuickRegistration(homePage, registrationPage, name, email, password);
         
         // Second registration attempt with same email
-        navigateToHomePage(homePage);
-        navigateToRegistration(homePage);
+        openRegistrationPage(homePage);
         
         // Try to signup with same email
         registrationPage.startSignup(name, email);
         
-        // Verify error message
+        // Verify error message (waits for the signup response instead of checking once)
         AssertionHelper.assertCondition(
-            registrationPage.isDuplicateEmailError(),
+            registrationPage.awaitRegistrationOutcome().is(RegistrationPage.DUPLICATE),
             "Duplicate email error is displayed",
             "Expected duplicate email error message, but it was not shown. " +
             "System should prevent registration with existing email."
@@ -121,19 +121,20 @@ public class RegistrationUITests extends BaseTest {
     @Description("Verify registration form validates invalid inputs appropriately")
     public void testInvalidRegistration(String name, String email) {
         // Page objects
-        HomePage homePage = new HomePage(page);
-        RegistrationPage registrationPage = new RegistrationPage(page);
+        HomePage homePage = new HomePage();
+        RegistrationPage registrationPage = new RegistrationPage();
         
         // Navigate to registration
-        navigateToHomePage(homePage);
-        navigateToRegistration(homePage);
+        openRegistrationPage(homePage);
         
         // Try invalid registration
         registrationPage.startSignup(name, email);
         
-        // Verify we're still on signup page (not progressed)
+        // Verify we're still on signup page (not progressed) - one wait for whichever page follows the submit
+        OutcomeRace.Result outcome = registrationPage.awaitSignupOutcome();
         AssertionHelper.assertCondition(
-            registrationPage.verifyNewUserSignup() || registrationPage.isDuplicateEmailError(),
+            outcome.is(RegistrationPage.INVALID_INPUT) || outcome.is(RegistrationPage.DUPLICATE)
+                || (!outcome.is(RegistrationPage.ACCOUNT_FORM) && registrationPage.verifyNewUserSignup()),
             "Invalid registration is blocked",
             String.format("Registration should be blocked for invalid data (Name: '%s', Email: '%s'), " +
                 "but form was submitted. Check validation rules.", name, email)
@@ -154,15 +155,16 @@ public class RegistrationUITests extends BaseTest {
         String password = TestDataManager.generateRandomPassword();
         
         // Page objects
-        HomePage homePage = new HomePage(page);
-        RegistrationPage registrationPage = new RegistrationPage(page);
+        HomePage homePage = new HomePage();
+        RegistrationPage registrationPage = new RegistrationPage();
         
         // Execute registration
         performQuickRegistration(homePage, registrationPage, specialName, email, password);
         
-        // Check result (website might block some special characters)
-        boolean isCreated = registrationPage.isAccountCreated();
-        boolean isDuplicate = registrationPage.isDuplicateEmailError();
+        // Check result (website might block some special characters) - one wait for whichever shows first
+        OutcomeRace.Result outcome = registrationPage.awaitRegistrationOutcome();
+        boolean isCreated = outcome.is(RegistrationPage.CREATED);
+        boolean isDuplicate = outcome.is(RegistrationPage.DUPLICATE);
         
         if (isDuplicate) {
             System.out.println("⚠️ Email already exists on live site - test inconclusive");
@@ -170,14 +172,14 @@ public class RegistrationUITests extends BaseTest {
         }
         
         // Also check URL for success
-        if (!isCreated && page.url().contains("/account_created")) {
+        if (!isCreated && getPage().url().contains("/account_created")) {
             isCreated = true; // URL confirms success
         }
         
         // Pass the test if registration worked OR if it was blocked
         // (we're testing that the website handles the input, not that it accepts it)
         AssertionHelper.assertCondition(
-            isCreated || isDuplicate || page.url().contains("/signup") || page.url().contains("/account_created"),
+            isCreated || isDuplicate || getPage().url().contains("/signup") || getPage().url().contains("/account_created"),
             "Website handled special characters appropriately",
             "Unexpected error during registration with special characters"
         );
@@ -196,12 +198,14 @@ public class RegistrationUITests extends BaseTest {
         testData.put("email", TestDataManager.generateUniqueEmail());
         
         // Page objects
-        HomePage homePage = new HomePage(page);
-        RegistrationPage registrationPage = new RegistrationPage(page);
+        HomePage homePage = new HomePage();
+        RegistrationPage registrationPage = new RegistrationPage();
         
-        // Complete registration flow
-        navigateToHomePage(homePage);
-        navigateToRegistration(homePage);
+        // Complete registration flow through the home page (the navigation is part of this test)
+        FlowRouter.clickThrough(FlowRouter.LOGIN, () -> {
+            navigateToHomePage(homePage);
+            navigateToRegistration(homePage);
+        });
         fillSignupForm(registrationPage, testData);
         fillAccountDetails(registrationPage, testData);
         verifyRegistrationSuccess(registrationPage);
@@ -229,7 +233,17 @@ public class RegistrationUITests extends BaseTest {
     @Step("Navigate to registration page")
     private void navigateToRegistration(HomePage homePage) {
         homePage.goToSignupLogin();
-        TestListeners.currentPage.set(page);
+    }
+    
+    /**
+     * Open the page with the login and signup forms; by deep link unless the flow router is disabled
+     */
+    @Step("Open registration page")
+    private void openRegistrationPage(HomePage homePage) {
+        FlowRouter.reach(getPage(), FlowRouter.LOGIN, () -> {
+            navigateToHomePage(homePage);
+            navigateToRegistration(homePage);
+        });
     }
     
     /**
@@ -254,7 +268,7 @@ public class RegistrationUITests extends BaseTest {
     @Step("Fill account details")
     private void fillAccountDetails(RegistrationPage registrationPage, Map<String, Object> testData) {
         AssertionHelper.assertElementVisible(
-            registrationPage.verifyAccountInformationPage(),
+            registrationPage.awaitSignupOutcome().is(RegistrationPage.ACCOUNT_FORM),
             "Enter Account Information Page"
         );
         
@@ -267,14 +281,14 @@ public class RegistrationUITests extends BaseTest {
      */
     @Step("Verify registration success")
     private void verifyRegistrationSuccess(RegistrationPage registrationPage) {
-        // Wait for the page to load after submit
-        page.waitForTimeout(3000);
+        // Wait for whichever result the submit produces instead of a fixed delay
+        OutcomeRace.Result outcome = registrationPage.awaitRegistrationOutcome();
         
         // Check if account was created successfully
-        boolean isCreated = registrationPage.isAccountCreated();
+        boolean isCreated = outcome.is(RegistrationPage.CREATED);
         
         // Check for duplicate email error (common on live website)
-        boolean isDuplicate = registrationPage.isDuplicateEmailError();
+        boolean isDuplicate = outcome.is(RegistrationPage.DUPLICATE);
         
         if (isDuplicate) {
             System.out.println("⚠️ Email already exists - this is expected on the live website");
@@ -284,7 +298,7 @@ public class RegistrationUITests extends BaseTest {
         }
         
         // If not detected but URL shows success, it's still a success
-        if (!isCreated && page.url().contains("/account_created")) {
+        if (!isCreated && getPage().url().contains("/account_created")) {
             System.out.println("✅ Account created successfully (detected via URL)");
             isCreated = true; // URL confirms success
         }
@@ -293,10 +307,10 @@ public class RegistrationUITests extends BaseTest {
         if (!isCreated) {
             // Take a screenshot for debugging
             System.out.println("Registration did not complete as expected");
-            System.out.println("Current URL: " + page.url());
+            System.out.println("Current URL: " + getPage().url());
             
             // Check if we're still on the form (might need to click submit again)
-            if (page.url().contains("/signup")) {
+            if (getPage().url().contains("/signup")) {
                 System.out.println("Still on signup page - form might have validation errors");
             }
         }
@@ -314,16 +328,14 @@ public class RegistrationUITests extends BaseTest {
                                          String name, String email, String password) {
         try {
             // Ensure we start from a clean state
-            page = getPage();
-            homePage = new HomePage(page);
-            registrationPage = new RegistrationPage(page);
+            homePage = new HomePage(getPage());
+            registrationPage = new RegistrationPage(getPage());
             
-            navigateToHomePage(homePage);
-            navigateToRegistration(homePage);
+            openRegistrationPage(homePage);
             registrationPage.startSignup(name, email);
             
             // If we get past signup, fill details
-            if (registrationPage.verifyAccountInformationPage()) {
+            if (registrationPage.awaitSignupOutcome().is(RegistrationPage.ACCOUNT_FORM)) {
                 registrationPage.fillAccountDetails(password);
                 registrationPage.submitAccount();
             }
@@ -332,7 +344,7 @@ public class RegistrationUITests extends BaseTest {
             System.out.println("Quick registration completed or skipped: " + e.getMessage());
             // Ensure we navigate back to home for next test
             try {
-                page.navigate(ConfigManager.getBaseUrl());
+                getPage().navigate(ConfigManager.getBaseUrl());
             } catch (Exception ex) {
                 // Ignore navigation errors
             }
@@ -0,0 +1,41 @@
+package tests.unit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import utils.ApiAttachments;
+import utils.ApiAttachments.Policy;
+
+/**
+ * Unit tests for the API attachment policy setting - default, accepted spellings,
+ * and loud failures for blank or mistyped values
+ */
+public class ApiAttachmentsTests {
+
+    @Test
+    public void testDefaultIsOnFailure() {
+        Assert.assertEquals(ApiAttachments.parsePolicy(null), Policy.ON_FAILURE);
+    }
+
+    @Test
+    public void testPolicyNamesAreCaseAndSeparatorInsensitive() {
+        Assert.assertEquals(ApiAttachments.parsePolicy("always"), Policy.ALWAYS);
+        Assert.assertEquals(ApiAttachments.parsePolicy(" TRUNCATE "), Policy.TRUNCATE);
+        Assert.assertEquals(ApiAttachments.parsePolicy("on-failure"), Policy.ON_FAILURE);
+        Assert.assertEquals(ApiAttachments.parsePolicy("headers_only"), Policy.HEADERS_ONLY);
+    }
+
+    @Test
+    public void testUnknownValueIsRejectedWithValidValues() {
+        IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class,
+            () -> ApiAttachments.parsePolicy("on_fail"));
+        Assert.assertTrue(error.getMessage().contains("'on_fail'"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("always, on_failure, truncate, headers_only"), error.getMessage());
+    }
+
+    @Test
+    public void testBlankValueIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ApiAttachments.parsePolicy(""));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ApiAttachments.parsePolicy("   "));
+    }
+}
@@ -0,0 +1,88 @@
+package tests.unit;
+
+import java.lang.reflect.Method;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import base.Isolation;
+import base.IsolationLevel;
+import utils.BrowserManager;
+
+/**
+ * Unit tests for IsolationLevel.resolve - which setting decides whether tests share a browser:
+ * method annotation, class annotation, &lt;test&gt; parameter, then -Disolation
+ */
+public class IsolationLevelTests {
+
+    @Isolation(IsolationLevel.CLASS)
+    static class AnnotatedClass {
+        @Isolation(IsolationLevel.METHOD)
+        public void annotatedMethod() {
+        }
+
+        public void plainMethod() {
+        }
+    }
+
+    static class PlainClass {
+        public void plainMethod() {
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("isolation");
+    }
+
+    @Test
+    public void testMethodAnnotationWinsOverEverything() throws Exception {
+        System.setProperty("isolation", "suite");
+        Method method = AnnotatedClass.class.getMethod("annotatedMethod");
+        Assert.assertEquals(IsolationLevel.resolve(method, AnnotatedClass.class, "suite"), IsolationLevel.METHOD);
+    }
+
+    @Test
+    public void testClassAnnotationWinsOverParameterAndProperty() throws Exception {
+        System.setProperty("isolation", "method");
+        Method method = AnnotatedClass.class.getMethod("plainMethod");
+        Assert.assertEquals(IsolationLevel.resolve(method, AnnotatedClass.class, "method"), IsolationLevel.CLASS);
+    }
+
+    @Test
+    public void testSuiteParameterWinsOverProperty() throws Exception {
+        System.setProperty("isolation", "method");
+        Method method = PlainClass.class.getMethod("plainMethod");
+        Assert.assertEquals(IsolationLevel.resolve(method, PlainClass.class, " Suite "), IsolationLevel.SUITE);
+    }
+
+    @Test
+    public void testPropertyAppliesWithoutAnnotationOrParameter() throws Exception {
+        System.setProperty("isolation", "suite");
+        Method method = PlainClass.class.getMethod("plainMethod");
+        Assert.assertEquals(IsolationLevel.resolve(method, PlainClass.class, null), IsolationLevel.SUITE);
+    }
+
+    @Test
+    public void testNothingConfiguredLeavesLifecycleSetting() throws Exception {
+        Method method = PlainClass.class.getMethod("plainMethod");
+        Assert.assertNull(IsolationLevel.resolve(method, PlainClass.class, null));
+    }
+
+    @Test
+    public void testUnknownValueIsRejected() throws Exception {
+        Method method = PlainClass.class.getMethod("plainMethod");
+        Assert.assertThrows(IllegalArgumentException.class, () -> IsolationLevel.resolve(method, PlainClass.class, "thread"));
+    }
+
+    @Test
+    public void testLevelsMapToLifecycles() {
+        Assert.assertEquals(IsolationLevel.METHOD.lifecycle(), BrowserManager.Lifecycle.TEST,
+            "Method isolation needs a new browser per test");
+        Assert.assertEquals(IsolationLevel.SUITE.lifecycle(), BrowserManager.Lifecycle.WORKER,
+            "Suite isolation keeps the worker's browser");
+        Assert.assertEquals(IsolationLevel.CLASS.lifecycle(), BrowserManager.Lifecycle.WORKER,
+            "Class isolation keeps the worker's browser");
+    }
+}
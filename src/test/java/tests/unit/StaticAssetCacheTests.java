@@ -0,0 +1,206 @@
+package tests.unit;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import utils.StaticAssetCache;
+
+/**
+ * Unit tests for StaticAssetCache - freshness, revalidation, LRU eviction and what is never cached
+ * Routes and responses are in-memory fakes, so no browser or network is needed.
+ */
+public class StaticAssetCacheTests {
+    private static final String URL = "https://www.automationexercise.com/static/css/main.css";
+
+    // Responses the fake network returns, in order
+    private final Deque<APIResponse> network = new ArrayDeque<>();
+
+    @BeforeMethod
+    public void setUp() {
+        network.clear();
+        System.setProperty("assetCacheMaxMb", "1");
+        StaticAssetCache.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("assetCacheMaxMb");
+        StaticAssetCache.clear();
+    }
+
+    @Test
+    public void testFreshEntryIsServedFromMemory() {
+        network.add(response(200, Map.of("cache-control", "max-age=60"), "body-1"));
+        FakeRoute first = request(URL);
+        Assert.assertEquals(first.fetches.size(), 1);
+
+        FakeRoute second = request(URL);
+        Assert.assertTrue(second.fetches.isEmpty(), "A fresh entry should not go to the network");
+        Assert.assertEquals(second.fulfilledBody(), "body-1");
+    }
+
+    @Test
+    public void testStaleEntryIsRevalidatedWith304() {
+        network.add(response(200, Map.of("cache-control", "no-cache", "etag", "\"v1\""), "body-1"));
+        request(URL);
+
+        network.add(response(304, Map.of(), ""));
+        FakeRoute revalidated = request(URL);
+        Assert.assertEquals(revalidated.fetches.size(), 1);
+        Assert.assertEquals(revalidated.fetches.get(0).headers.get("if-none-match"), "\"v1\"");
+        Assert.assertEquals(revalidated.fulfilledBody(), "body-1", "A 304 should serve the stored body");
+    }
+
+    @Test
+    public void testChangedResourceReplacesEntry() {
+        network.add(response(200, Map.of("last-modified", "Mon, 01 Jan 2024 00:00:00 GMT"), "body-1"));
+        request(URL);
+
+        network.add(response(200, Map.of("cache-control", "max-age=60"), "body-2"));
+        FakeRoute changed = request(URL);
+        Assert.assertEquals(changed.fetches.get(0).headers.get("if-modified-since"), "Mon, 01 Jan 2024 00:00:00 GMT");
+
+        FakeRoute next = request(URL);
+        Assert.assertTrue(next.fetches.isEmpty());
+        Assert.assertEquals(next.fulfilledBody(), "body-2");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        String body = "x".repeat(400 * 1024);
+        for (String name : List.of("a", "b")) {
+            network.add(response(200, Map.of("cache-control", "max-age=60"), body));
+            request(URL + "?" + name);
+        }
+        // Touch a, so b is the least recently used when c pushes the cache over 1 MB
+        Assert.assertTrue(request(URL + "?a").fetches.isEmpty());
+        network.add(response(200, Map.of("cache-control", "max-age=60"), body));
+        request(URL + "?c");
+
+        Assert.assertTrue(request(URL + "?a").fetches.isEmpty(), "Recently used entry should stay");
+        Assert.assertTrue(request(URL + "?c").fetches.isEmpty(), "Newest entry should stay");
+        network.add(response(200, Map.of("cache-control", "max-age=60"), body));
+        Assert.assertEquals(request(URL + "?b").fetches.size(), 1, "Least recently used entry should be evicted");
+    }
+
+    @Test
+    public void testCookiesAreNotReplayed() {
+        network.add(response(200, Map.of("cache-control", "max-age=60", "set-cookie", "sessionid=abc"), "body-1"));
+        request(URL);
+        FakeRoute cached = request(URL);
+        Assert.assertTrue(cached.fetches.isEmpty());
+        Assert.assertFalse(cached.fulfilled.headers.containsKey("set-cookie"), "Cookies must not reach other contexts");
+    }
+
+    @Test
+    public void testPrivateAndVaryingResponsesAreNotCached() {
+        network.add(response(200, Map.of("cache-control", "private, max-age=60"), "private"));
+        request(URL + "?private");
+        network.add(response(200, Map.of("cache-control", "max-age=60", "vary", "Accept"), "negotiated"));
+        request(URL + "?vary");
+
+        network.add(response(200, Map.of(), "private"));
+        Assert.assertEquals(request(URL + "?private").fetches.size(), 1, "Private response should not be cached");
+        network.add(response(200, Map.of(), "negotiated"));
+        Assert.assertEquals(request(URL + "?vary").fetches.size(), 1, "Response varying on Accept should not be cached");
+    }
+
+    @Test
+    public void testNetworkErrorFallsBack() {
+        FakeRoute route = new FakeRoute(URL);
+        route.failFetch = true;
+        StaticAssetCache.handle(route.proxy());
+        Assert.assertTrue(route.fellBack, "A failed fetch should leave the request to the browser");
+    }
+
+    private FakeRoute request(String url) {
+        FakeRoute route = new FakeRoute(url);
+        StaticAssetCache.handle(route.proxy());
+        return route;
+    }
+
+    private static APIResponse response(int status, Map<String, String> headers, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return (APIResponse) Proxy.newProxyInstance(APIResponse.class.getClassLoader(), new Class<?>[] {APIResponse.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "status" -> status;
+                case "headers" -> headers;
+                case "body" -> bytes;
+                case "ok" -> status >= 200 && status < 300;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    /**
+     * Route of one GET request for a stylesheet, recording what the cache did with it
+     */
+    private final class FakeRoute {
+        private final String url;
+        private final List<Route.FetchOptions> fetches = new ArrayList<>();
+        private Route.FulfillOptions fulfilled;
+        private boolean fellBack;
+        private boolean failFetch;
+
+        FakeRoute(String url) {
+            this.url = url;
+        }
+
+        Route proxy() {
+            Request request = (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[] {Request.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "method" -> "GET";
+                    case "resourceType" -> "stylesheet";
+                    case "url" -> url;
+                    case "headers" -> new HashMap<String, String>();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+            return (Route) Proxy.newProxyInstance(Route.class.getClassLoader(), new Class<?>[] {Route.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "request":
+                            return request;
+                        case "fetch":
+                            if (failFetch) {
+                                throw new PlaywrightException("net::ERR_CONNECTION_RESET");
+                            }
+                            Route.FetchOptions options = args != null && args.length > 0 && args[0] != null
+                                ? (Route.FetchOptions) args[0] : new Route.FetchOptions();
+                            if (options.headers == null) {
+                                options.headers = new HashMap<>();
+                            }
+                            fetches.add(options);
+                            return network.remove();
+                        case "fulfill":
+                            fulfilled = (Route.FulfillOptions) args[0];
+                            return null;
+                        case "fallback":
+                            fellBack = true;
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+
+        String fulfilledBody() {
+            Assert.assertNotNull(fulfilled, "Request was not fulfilled");
+            return new String(fulfilled.bodyBytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package tests.unit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import utils.ConfigManager;
+import utils.TestUserRegistry;
+
+/**
+ * Unit tests for TestUserRegistry - provisioning once per user, invalidation,
+ * TTL of the cache file and merging with entries written by other runs
+ * No browser or network needed: provisioners are counted instead of calling the site.
+ */
+public class TestUserRegistryTests {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path cacheFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        cacheFile = Files.createTempDirectory("test-users-").resolve("test-users.json");
+        System.setProperty("testUserCache", cacheFile.toString());
+        System.setProperty("testUserTtlHours", "24");
+        TestUserRegistry.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("testUserCache");
+        System.clearProperty("testUserTtlHours");
+        TestUserRegistry.clear();
+    }
+
+    @Test
+    public void testConcurrentEnsureProvisionsOnce() throws Exception {
+        AtomicInteger registrations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(threads.submit(() -> {
+                    start.await();
+                    TestUserRegistry.ensure("same@test.com", () -> {
+                        registrations.incrementAndGet();
+                        Thread.sleep(200);
+                    });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        Assert.assertEquals(registrations.get(), 1, "Concurrent callers should share one registration");
+    }
+
+    @Test
+    public void testFailedProvisioningIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        Assert.assertThrows(IllegalStateException.class, () -> TestUserRegistry.ensure("flaky@test.com", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Registration was not confirmed");
+        }));
+        TestUserRegistry.ensure("flaky@test.com", attempts::incrementAndGet);
+        Assert.assertEquals(attempts.get(), 2, "A failed provisioning should not be remembered");
+        Assert.assertTrue(readCache().containsKey(key("flaky@test.com")));
+    }
+
+    @Test
+    public void testInvalidateAfterRejectedLogin() {
+        AtomicInteger registrations = new AtomicInteger();
+        TestUserRegistry.ensure("deleted@test.com", registrations::incrementAndGet);
+        Assert.assertTrue(readCache().containsKey(key("deleted@test.com")));
+
+        // The site rejected the cached user's credentials
+        TestUserRegistry.invalidate("deleted@test.com");
+        Assert.assertFalse(readCache().containsKey(key("deleted@test.com")), "Invalidated user should leave the cache file");
+
+        TestUserRegistry.ensure("deleted@test.com", registrations::incrementAndGet);
+        Assert.assertEquals(registrations.get(), 2, "Invalidated user should be provisioned again");
+    }
+
+    @Test
+    public void testFreshCacheEntryIsTrusted() throws IOException {
+        writeCache(Map.of(key("fresh@test.com"), System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        AtomicInteger registrations = new AtomicInteger();
+        TestUserRegistry.ensure("fresh@test.com", registrations::incrementAndGet);
+        Assert.assertEquals(registrations.get(), 0, "A user verified within the TTL should not be provisioned");
+    }
+
+    @Test
+    public void testExpiredCacheEntryIsVerifiedAgain() throws IOException {
+        long expired = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(25);
+        writeCache(Map.of(key("stale@test.com"), expired));
+        AtomicInteger registrations = new AtomicInteger();
+        TestUserRegistry.ensure("stale@test.com", registrations::incrementAndGet);
+        Assert.assertEquals(registrations.get(), 1, "A user verified before the TTL should be provisioned again");
+        Assert.assertTrue(readCache().get(key("stale@test.com")) > expired, "Re-verification should refresh the entry");
+    }
+
+    @Test
+    public void testSaveMergesEntriesOfOtherRuns() throws IOException {
+        TestUserRegistry.ensure("first@test.com", () -> { });
+
+        // Another run finished in between and wrote its own user
+        Map<String, Long> otherRun = new HashMap<>(readCache());
+        otherRun.put(key("other@test.com"), System.currentTimeMillis());
+        writeCache(otherRun);
+
+        TestUserRegistry.ensure("second@test.com", () -> { });
+        Map<String, Long> cache = readCache();
+        Assert.assertTrue(cache.containsKey(key("first@test.com")));
+        Assert.assertTrue(cache.containsKey(key("second@test.com")));
+        Assert.assertTrue(cache.containsKey(key("other@test.com")), "Entries written by another run should survive a save");
+    }
+
+    @Test
+    public void testMergeDoesNotRestoreInvalidatedUser() throws IOException {
+        TestUserRegistry.ensure("gone@test.com", () -> { });
+        Map<String, Long> otherRun = new HashMap<>(readCache());
+        TestUserRegistry.invalidate("gone@test.com");
+
+        // Another run still had the user when it saved
+        writeCache(otherRun);
+        TestUserRegistry.ensure("kept@test.com", () -> { });
+        Assert.assertFalse(readCache().containsKey(key("gone@test.com")), "Merging should not bring back an invalidated user");
+    }
+
+    private static String key(String email) {
+        return ConfigManager.getBaseUrl() + "|" + email;
+    }
+
+    private Map<String, Long> readCache() {
+        try {
+            return objectMapper.readValue(cacheFile.toFile(), new TypeReference<Map<String, Long>>() {});
+        } catch (IOException e) {
+            throw new AssertionError("Cache file not readable: " + cacheFile, e);
+        }
+    }
+
+    private void writeCache(Map<String, Long> entries) throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        objectMapper.writeValue(cacheFile.toFile(), entries);
+    }
+}
@@ -0,0 +1,157 @@
+package utils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.qameta.allure.Allure;
+
+/**
+ * API Attachments - Single Responsibility: Allure Attachment Policy for API Responses
+ * Decides if and how API responses are attached to the report; bodies are only
+ * formatted when they are actually attached
+ *
+ * Policy (-DapiAttachments, default on_failure):
+ * - always:        full pretty-printed response for every call
+ * - on_failure:    buffered per test, attached only if the test fails
+ * - truncate:      every call, raw body cut to -DapiAttachmentMaxBytes (default 2048)
+ * - headers_only:  status line and headers of every call
+ *
+ * Buffers are opened and flushed by TestListeners around every test method. Without the
+ * listener no test is open on the thread, and on_failure attaches right away instead of
+ * buffering. The policy is read once; unknown values are rejected at suite start.
+ * Independent of the HTTP stack: clients pass suppliers for the parts of their responses.
+ */
+public class ApiAttachments {
+    private static final ThreadLocal<List<Pending>> buffer = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<Boolean> testOpen = ThreadLocal.withInitial(() -> false);
+
+    private static volatile Policy policy;
+
+    private static final AtomicLong attached = new AtomicLong();
+    private static final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Attachment policies
+     */
+    public enum Policy {
+        ALWAYS,
+        ON_FAILURE,
+        TRUNCATE,
+        HEADERS_ONLY
+    }
+
+    private record Pending(String name, Supplier<String> content) {
+    }
+
+    /**
+     * Get the configured attachment policy, parsed on first use
+     * @throws IllegalArgumentException if -DapiAttachments is not one of the policies
+     */
+    public static Policy getPolicy() {
+        Policy current = policy;
+        if (current == null) {
+            current = parsePolicy(ConfigManager.get("apiAttachments"));
+            policy = current;
+        }
+        return current;
+    }
+
+    /**
+     * Parse a policy name; case-insensitive, "-" and "_" are interchangeable
+     * @param value Configured value, null for the default (on_failure)
+     * @return Policy
+     * @throws IllegalArgumentException for blank or unknown values, listing the valid ones
+     */
+    public static Policy parsePolicy(String value) {
+        if (value == null) {
+            return Policy.ON_FAILURE;
+        }
+        try {
+            return Policy.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(
+                "Unknown -DapiAttachments value '%s'. Valid values: always, on_failure, truncate, headers_only", value));
+        }
+    }
+
+    /**
+     * Attach, buffer or skip an API response according to the policy
+     * @param name Attachment name
+     * @param prettyBody Formatted body, only called if the full body is attached
+     * @param rawBody Unformatted body, only called for truncated attachments
+     * @param statusAndHeaders Status line and headers, only called for headers-only attachments
+     */
+    public static void record(String name, Supplier<String> prettyBody, Supplier<byte[]> rawBody,
+            Supplier<String> statusAndHeaders) {
+        switch (getPolicy()) {
+            case ALWAYS -> attach(name, prettyBody);
+            case TRUNCATE -> attach(name, () -> truncated(rawBody.get()));
+            case HEADERS_ONLY -> attach(name, statusAndHeaders);
+            default -> {
+                if (testOpen.get()) {
+                    buffer.get().add(new Pending(name, prettyBody));
+                } else {
+                    // No listener around this test - nothing would flush the buffer
+                    attach(name, prettyBody);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start a test: drop anything left over from a previous test on this thread
+     */
+    static void startTest() {
+        discarded.addAndGet(buffer.get().size());
+        buffer.get().clear();
+        testOpen.set(true);
+    }
+
+    /**
+     * End a test: attach the buffered responses if it failed, drop them otherwise
+     * @param failed true if the test failed
+     */
+    static void endTest(boolean failed) {
+        List<Pending> pending = buffer.get();
+        if (failed) {
+            pending.forEach(entry -> attach(entry.name(), entry.content()));
+        } else {
+            discarded.addAndGet(pending.size());
+        }
+        pending.clear();
+        testOpen.remove();
+    }
+
+    private static void attach(String name, Supplier<String> content) {
+        Allure.addAttachment(name, new ByteArrayInputStream(content.get().getBytes(StandardCharsets.UTF_8)));
+        attached.incrementAndGet();
+    }
+
+    private static String truncated(byte[] body) {
+        int maxBytes = Integer.parseInt(ConfigManager.get("apiAttachmentMaxBytes", "2048"));
+        if (body.length <= maxBytes) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(body, 0, maxBytes, StandardCharsets.UTF_8)
+            + "\n... (" + (body.length - maxBytes) + " more bytes)";
+    }
+
+    /**
+     * Check whether any response went through the policy in this run
+     */
+    public static boolean hasRecorded() {
+        return attached.get() > 0 || discarded.get() > 0;
+    }
+
+    /**
+     * Attachment statistics
+     */
+    public static String getStats() {
+        return String.format("API attachments (%s): attached=%d discarded=%d",
+            getPolicy(), attached.get(), discarded.get());
+    }
+}
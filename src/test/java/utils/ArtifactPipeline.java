@@ -0,0 +1,195 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.testng.ITestResult;
+
+import com.microsoft.playwright.Page;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+/**
+ * Artifact Pipeline - Single Responsibility: Failure Artifact Capture
+ * Captures the failure artifacts of a test once, then compresses and writes them
+ * on a background executor so the worker thread can release its browser right away
+ *
+ * Configuration:
+ * - artifactFormat=jpeg      jpeg or png (WebP has no encoder in the JDK)
+ * - artifactJpegQuality=0.7  JPEG quality between 0 and 1
+ * - artifactScale=1.0        downscale factor applied before encoding
+ * - artifactFullPage=false   full-page instead of viewport screenshot
+ * - artifactDom=false        also keep the page's HTML
+ * - artifactThreads=2        background encoder threads
+ *
+ * Attachments are registered in the Allure test result on the test thread (by file
+ * reference) and their files are written later; drain() at suite end waits for them.
+ */
+public class ArtifactPipeline {
+    private static final String CAPTURED_ATTRIBUTE = "artifactsCaptured";
+
+    private static ExecutorService executor;
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private static final AtomicLong captured = new AtomicLong();
+    private static final AtomicLong rawBytes = new AtomicLong();
+    private static final AtomicLong writtenBytes = new AtomicLong();
+    private static final AtomicLong encodeMillis = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Capture the failure artifacts of a test, at most once per test result
+     * @param result Result of the failed test
+     * @param page Page of the test
+     */
+    public static void captureFailure(ITestResult result, Page page) {
+        if (result.getAttribute(CAPTURED_ATTRIBUTE) != null) {
+            return;
+        }
+        result.setAttribute(CAPTURED_ATTRIBUTE, Boolean.TRUE);
+        capture(page, "Failed_" + result.getMethod().getMethodName());
+    }
+
+    /**
+     * Capture a screenshot (and the DOM if configured) of a page under the given name
+     * @param page Page to capture
+     * @param name Attachment name
+     */
+    public static void capture(Page page, String name) {
+        if (page == null || page.isClosed()) {
+            return;
+        }
+        // Only the browser round trips happen on the test thread
+        byte[] png = page.screenshot(new Page.ScreenshotOptions()
+            .setFullPage(Boolean.parseBoolean(ConfigManager.get("artifactFullPage", "false"))));
+        String dom = Boolean.parseBoolean(ConfigManager.get("artifactDom", "false")) ? page.content() : null;
+        captured.incrementAndGet();
+        rawBytes.addAndGet(png.length);
+
+        boolean jpeg = !"png".equalsIgnoreCase(ConfigManager.get("artifactFormat", "jpeg"));
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String imageSource = jpeg
+            ? lifecycle.prepareAttachment(name, "image/jpeg", "jpg")
+            : lifecycle.prepareAttachment(name, "image/png", "png");
+        String domSource = dom != null ? lifecycle.prepareAttachment(name + " (DOM)", "text/html", "html") : null;
+
+        getExecutor().execute(() -> {
+            try {
+                long start = System.nanoTime();
+                byte[] image = encode(png, jpeg);
+                encodeMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                write(lifecycle, imageSource, image);
+                if (domSource != null) {
+                    write(lifecycle, domSource, dom.getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("Failed to write artifact '" + name + "': " + e.getMessage());
+            }
+        });
+    }
+
+    private static void write(AllureLifecycle lifecycle, String source, byte[] bytes) {
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+        writtenBytes.addAndGet(bytes.length);
+    }
+
+    /**
+     * Downscale and re-encode a PNG screenshot
+     */
+    private static byte[] encode(byte[] png, boolean jpeg) throws IOException {
+        double scale = Double.parseDouble(ConfigManager.get("artifactScale", "1.0"));
+        if (!jpeg && scale >= 1.0) {
+            return png;
+        }
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        int width = Math.max(1, (int) (source.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) (source.getHeight() * Math.min(scale, 1.0)));
+
+        // JPEG has no alpha channel, so always draw onto an RGB image
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!jpeg) {
+            ImageIO.write(target, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Float.parseFloat(ConfigManager.get("artifactJpegQuality", "0.7")));
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Integer.parseInt(ConfigManager.get("artifactThreads", "2"));
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "artifact-writer-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Wait until every captured artifact has been written. Called once at suite end.
+     */
+    public static synchronized void drain() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                System.err.println("Artifact pipeline did not finish writing within 60 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Check whether any artifact was captured in this run
+     */
+    public static boolean hasCaptured() {
+        return captured.get() > 0;
+    }
+
+    /**
+     * Pipeline statistics
+     */
+    public static String getStats() {
+        return String.format("Artifacts: captured=%d rawBytes=%d writtenBytes=%d encodeMs=%d failures=%d",
+            captured.get(), rawBytes.get(), writtenBytes.get(), encodeMillis.get(), failures.get());
+    }
+}
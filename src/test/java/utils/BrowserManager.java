@@ -1,21 +1,93 @@
 package utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Video;
 
 /**
  * Browser Manager - Single Responsibility: Browser Lifecycle Management
  * Provides thread-safe browser instances for parallel execution
+ *
+ * Two lifecycles are supported (select with -DbrowserLifecycle):
+ * - test:   Playwright and Browser are created and destroyed for every test (default)
+ * - worker: each worker thread keeps one Playwright and Browser for its whole life,
+ *           every test still gets a fresh BrowserContext and Page
+ *
+ * With the worker lifecycle and -DcontextRecycling=true, a context is reset by
+ * ContextRecycler after each test and handed to the next one instead of being recreated.
+ *
+ * initializeSharedBrowser() keeps one context and page for a whole scope (e.g. a test class)
+ * on the worker thread, for read-only tests that do not need a fresh context each.
  */
 public class BrowserManager {
     private static final ThreadLocal<Playwright> playwrightThread = new ThreadLocal<>();
     private static final ThreadLocal<Browser> browserThread = new ThreadLocal<>();
     private static final ThreadLocal<BrowserContext> contextThread = new ThreadLocal<>();
     private static final ThreadLocal<Page> pageThread = new ThreadLocal<>();
-    
+    private static final ThreadLocal<BrowserPool.PooledBrowser> pooledThread = new ThreadLocal<>();
+    private static final ThreadLocal<BrowserContext> parkedContextThread = new ThreadLocal<>();
+    private static final ThreadLocal<Page> parkedPageThread = new ThreadLocal<>();
+    private static final ThreadLocal<String> testIdThread = new ThreadLocal<>();
+    private static final ThreadLocal<String> engineThread = new ThreadLocal<>();
+    private static final ThreadLocal<Lifecycle> lifecycleThread = new ThreadLocal<>();
+    private static final ThreadLocal<String> sharedScopeThread = new ThreadLocal<>();
+
+    // Worker-scoped Playwright instances still open, shut down once at suite end
+    private static final Set<Playwright> workerPlaywrights = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Browser lifecycle scopes
+     */
+    public enum Lifecycle {
+        TEST,
+        WORKER;
+
+        static Lifecycle fromConfig() {
+            return parse(ConfigManager.get("browserLifecycle", "test"));
+        }
+
+        static Lifecycle parse(String value) {
+            return "worker".equalsIgnoreCase(value) ? WORKER : TEST;
+        }
+    }
+
+    /**
+     * Override engine and lifecycle for the current worker thread,
+     * e.g. from the parameters of a <test> block in a cross-browser matrix suite.
+     * Null values fall back to the -Dbrowser / -DbrowserLifecycle configuration.
+     * @param engine chromium, firefox or webkit
+     * @param lifecycle test or worker
+     */
+    public static void configureThread(String engine, String lifecycle) {
+        if (engine != null) {
+            engineThread.set(engine.toLowerCase());
+        } else {
+            engineThread.remove();
+        }
+        if (lifecycle != null) {
+            lifecycleThread.set(Lifecycle.parse(lifecycle));
+        } else {
+            lifecycleThread.remove();
+        }
+    }
+
+    /**
+     * Set the identifier of the test about to run on this thread (used to name per-test artifacts)
+     * @param testId e.g. LoginUITests.testValidLogin_0
+     */
+    public static void setTestId(String testId) {
+        testIdThread.set(testId);
+    }
+
     /**
      * Initialize browser with configuration
      * @return Configured Page instance
@@ -23,45 +95,204 @@ public class BrowserManager {
     public static Page initializeBrowser() {
         // Clean up any existing instances first
         closeBrowser();
-        
-        // Create new instances
-        Playwright playwright = Playwright.create();
-        playwrightThread.set(playwright);
-        
-        // Get configuration from system properties
-        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "true"));
-        int slowMo = Integer.parseInt(System.getProperty("slowMo", headless ? "0" : "100"));
-        String browserType = System.getProperty("browser", "chromium");
-        
-        // Launch browser based on type
-        Browser browser = launchBrowser(playwright, browserType, headless, slowMo);
-        browserThread.set(browser);
-        
+
+        return createPage(null);
+    }
+
+    /**
+     * Get a page shared by all tests of a scope on this thread, creating it for the first test.
+     * Use releaseSharedBrowser() after each test and closeSharedBrowser() when the scope ends.
+     * @param scope Name of the sharing scope, e.g. the test class
+     * @return Page of the scope's context
+     */
+    public static Page initializeSharedBrowser(String scope) {
+        Page page = pageThread.get();
+        Browser browser = browserThread.get();
+        if (scope.equals(sharedScopeThread.get()) && page != null && !page.isClosed()
+                && browser != null && browser.isConnected()
+                && browser.browserType().name().equalsIgnoreCase(getEngine())) {
+            RequestBlocker.startTest();
+            TraceRecorder.begin(contextThread.get(), true, testIdThread.get());
+            return SleepDetector.watch(page);
+        }
+
+        // First test of the scope, or the shared context is gone - start a new one
+        closeBrowser();
+        sharedScopeThread.set(scope);
+        return createPage(null);
+    }
+
+    /**
+     * End a test that used the shared page; the context is kept for the next test of the scope.
+     * After a failed test it is closed instead, so its state cannot leak into the next test.
+     * @param failed true if the test failed
+     */
+    public static void releaseSharedBrowser(boolean failed) {
+        BrowserContext context = contextThread.get();
+        if (context != null) {
+            TraceRecorder.end(context, failed);
+        }
+        if (failed) {
+            sharedScopeThread.remove();
+            closeContext(true);
+        }
+    }
+
+    /**
+     * Close the shared context of a scope if this thread still holds it
+     * @param scope Name of the sharing scope
+     */
+    public static void closeSharedBrowser(String scope) {
+        if (scope.equals(sharedScopeThread.get())) {
+            sharedScopeThread.remove();
+            closeBrowser();
+        }
+    }
+
+    /**
+     * Initialize browser with a context that is already logged in as the given user.
+     * The session is taken from SessionCache, so the UI login happens at most once per TTL.
+     * @param email User's email address
+     * @param password User's password
+     * @return Configured Page instance of an authenticated context
+     */
+    public static Page initializeAuthenticatedBrowser(String email, String password) {
+        // Replace the current context but keep the browser already launched for this test
+        closeContext();
+
+        String storageState = SessionCache.getStorageState(obtainBrowser(), email, password);
+        return createPage(storageState);
+    }
+
+    /**
+     * Create a context and page in the current thread's browser
+     * @param storageState Storage state to start from, or null for a clean context
+     */
+    private static Page createPage(String storageState) {
+        // Reuse the worker's browser when possible, otherwise launch one
+        Browser browser = obtainBrowser();
+        RequestBlocker.startTest();
+
+        // A recycled context cannot take a storage state, only clean contexts are reused
+        BrowserContext parked = parkedContextThread.get();
+        if (parked != null && storageState == null && parked.browser() == browser) {
+            contextThread.set(parked);
+            pageThread.set(parkedPageThread.get());
+            parkedContextThread.remove();
+            parkedPageThread.remove();
+            TraceRecorder.begin(parked, true, testIdThread.get());
+            BrowserWatchdog.contextServed(browser);
+            return SleepDetector.watch(pageThread.get());
+        }
+        discardParkedContext();
+
         // Create context with viewport
-        BrowserContext context = browser.newContext(
-            new Browser.NewContextOptions()
-                .setViewportSize(1920, 1080)
-                .setIgnoreHTTPSErrors(true)
-        );
+        Browser.NewContextOptions options = newContextOptions();
+        if (storageState != null) {
+            options.setStorageState(storageState);
+        }
+        VideoRecorder.configure(options);
+        BrowserContext context;
+        try {
+            context = browser.newContext(options);
+        } catch (PlaywrightException e) {
+            // Browser died after the health check - replace it instead of failing the test
+            System.err.println("Browser unusable, relaunching: " + e.getMessage());
+            closeWorker();
+            browser = obtainBrowser();
+            context = browser.newContext(options);
+        }
+        BrowserWatchdog.contextServed(browser);
         contextThread.set(context);
-        
+
+        // Routes registered later take precedence: blocking runs first, then the asset cache, then HAR
+        HarRouter.apply(context, testIdThread.get());
+        StaticAssetCache.apply(context);
+        RequestBlocker.apply(context);
+        TraceRecorder.begin(context, false, testIdThread.get());
+
         // Create page
         Page page = context.newPage();
         page.setDefaultTimeout(30000); // 30 seconds default timeout
         pageThread.set(page);
-        
-        return page;
+        Waits.track(page);
+        if (isRecycling()) {
+            ContextRecycler.track(page);
+        }
+
+        return SleepDetector.watch(page);
+    }
+
+    /**
+     * Default options for every context created by the framework
+     */
+    static Browser.NewContextOptions newContextOptions() {
+        return new Browser.NewContextOptions()
+            .setViewportSize(1920, 1080)
+            .setIgnoreHTTPSErrors(true);
+    }
+
+    /**
+     * Get the browser bound to the current thread, launching it if missing, of another engine,
+     * or retired by the watchdog (disconnected, too many contexts served, too much memory)
+     */
+    private static Browser obtainBrowser() {
+        String browserType = getEngine();
+        Browser browser = browserThread.get();
+        if (browser != null && browser.browserType().name().equalsIgnoreCase(browserType)
+                && !BrowserWatchdog.shouldRetire(browser)) {
+            return browser;
+        }
+
+        // Stale, missing, retired or wrong-engine browser - discard whatever is left for this thread
+        closeWorker();
+
+        Playwright playwright;
+        if (BrowserPool.isEnabled()) {
+            // Take a pre-warmed browser instead of launching on the test thread
+            BrowserPool.PooledBrowser pooled = BrowserPool.acquire(browserType);
+            pooledThread.set(pooled);
+            playwright = pooled.playwright();
+            browser = pooled.browser();
+        } else {
+            playwright = newPlaywright();
+            browser = launchBrowser(playwright, browserType);
+            BrowserWatchdog.register(browser, playwright);
+        }
+        playwrightThread.set(playwright);
+        browserThread.set(browser);
+        if (getLifecycle() == Lifecycle.WORKER) {
+            workerPlaywrights.add(playwright);
+        }
+        return browser;
     }
-    
+
+    /**
+     * Create the Playwright instance a browser is launched from:
+     * a thread-owned driver, or the single shared driver with -DplaywrightMode=shared
+     */
+    static Playwright newPlaywright() {
+        return SharedPlaywright.isEnabled() ? SharedPlaywright.get() : BrowserWatchdog.createPlaywright();
+    }
+
     /**
      * Launch browser based on type
      */
-    private static Browser launchBrowser(Playwright playwright, String browserType, boolean headless, int slowMo) {
+    static Browser launchBrowser(Playwright playwright, String browserType) {
+        // Get configuration from system properties
+        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "true"));
+        int slowMo = Integer.parseInt(System.getProperty("slowMo", headless ? "0" : "100"));
+
+        // Remote browser servers take the place of local launches when configured
+        if (BrowserServerPool.isEnabled()) {
+            return BrowserServerPool.connect(playwright, browserType, slowMo);
+        }
+
         BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
             .setHeadless(headless)
             .setTimeout(60000)
             .setSlowMo(slowMo);
-            
+
         switch (browserType.toLowerCase()) {
             case "firefox":
                 return playwright.firefox().launch(options);
@@ -72,79 +303,233 @@ public class BrowserManager {
                 return playwright.chromium().launch(options);
         }
     }
-    
+
     /**
-     * Get current page instance
+     * Get the browser lifecycle of the current thread
+     */
+    public static Lifecycle getLifecycle() {
+        Lifecycle lifecycle = lifecycleThread.get();
+        return lifecycle != null ? lifecycle : Lifecycle.fromConfig();
+    }
+
+    /**
+     * Get the browser engine of the current thread
+     */
+    public static String getEngine() {
+        String engine = engineThread.get();
+        return engine != null ? engine : System.getProperty("browser", "chromium");
+    }
+
+    /**
+     * Get current page instance (fixed sleeps on it are recorded by SleepDetector)
      */
     public static Page getPage() {
-        return pageThread.get();
+        return SleepDetector.watch(pageThread.get());
     }
-    
+
     /**
      * Get current context instance
      */
     public static BrowserContext getContext() {
         return contextThread.get();
     }
-    
+
     /**
-     * Close browser and cleanup resources
+     * Get current browser instance
+     */
+    public static Browser getBrowser() {
+        return browserThread.get();
+    }
+
+    /**
+     * Close the current test's page and context.
+     * The browser and Playwright are closed as well unless the worker lifecycle keeps them.
      */
     public static void closeBrowser() {
+        closeBrowser(false);
+    }
+
+    /**
+     * Close the current test's page and context, keeping failure artifacts of a failed test.
+     * The browser and Playwright are closed as well unless the worker lifecycle keeps them.
+     * @param failed true if the test that used the context failed
+     */
+    public static void closeBrowser(boolean failed) {
+        sharedScopeThread.remove();
         try {
-            // Close page
-            Page page = pageThread.get();
-            if (page != null) {
-                try {
-                    if (!page.isClosed()) {
-                        page.close();
-                    }
-                } catch (Exception e) {
-                    // Ignore
-                } finally {
-                    pageThread.remove();
-                }
-            }
-            
-            // Close context
             BrowserContext context = contextThread.get();
             if (context != null) {
-                try {
-                    context.close();
-                } catch (Exception e) {
-                    // Ignore
-                } finally {
-                    contextThread.remove();
+                TraceRecorder.end(context, failed);
+            }
+            if (isRecycling()) {
+                parkContext();
+            } else {
+                closeContext(failed);
+            }
+            if (getLifecycle() == Lifecycle.TEST) {
+                closeWorker();
+            }
+        } catch (Exception e) {
+            System.err.println("Error during browser cleanup: " + e.getMessage());
+        }
+    }
+
+    private static boolean isRecycling() {
+        // HAR files and videos are per test and only written on context close, so they rule out recycling
+        return getLifecycle() == Lifecycle.WORKER && ContextRecycler.isEnabled()
+            && !HarRouter.isEnabled() && !VideoRecorder.isEnabled();
+    }
+
+    /**
+     * Reset the current context and keep it for the next test, or close it if the reset is not clean
+     */
+    private static void parkContext() {
+        BrowserContext context = contextThread.get();
+        Page page = pageThread.get();
+        if (context == null || page == null || page.isClosed()) {
+            closeContext();
+            return;
+        }
+        if (ContextRecycler.reset(context, page)) {
+            parkedContextThread.set(context);
+            parkedPageThread.set(page);
+            pageThread.remove();
+            contextThread.remove();
+        } else {
+            closeContext();
+        }
+    }
+
+    /**
+     * Close a context kept for recycling, if any
+     */
+    private static void discardParkedContext() {
+        BrowserContext parked = parkedContextThread.get();
+        parkedContextThread.remove();
+        parkedPageThread.remove();
+        if (parked != null) {
+            try {
+                parked.close();
+            } catch (Exception e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Close page and context of the current thread
+     */
+    private static void closeContext() {
+        closeContext(false);
+    }
+
+    /**
+     * Close page and context of the current thread, keeping the videos of a failed test
+     * @param failed true if the test that used the context failed
+     */
+    private static void closeContext(boolean failed) {
+        // Videos are only complete once their context is closed, so collect them first
+        List<Video> videos = new ArrayList<>();
+        BrowserContext current = contextThread.get();
+        if (current != null && VideoRecorder.isEnabled()) {
+            for (Page open : current.pages()) {
+                if (open.video() != null) {
+                    videos.add(open.video());
                 }
             }
-            
-            // Close browser
-            Browser browser = browserThread.get();
-            if (browser != null) {
-                try {
-                    if (browser.isConnected()) {
-                        browser.close();
-                    }
-                } catch (Exception e) {
-                    // Ignore
-                } finally {
-                    browserThread.remove();
+        }
+
+        // Close page
+        Page page = pageThread.get();
+        if (page != null) {
+            try {
+                if (!page.isClosed()) {
+                    page.close();
                 }
+            } catch (Exception e) {
+                // Ignore
+            } finally {
+                pageThread.remove();
+            }
+        }
+
+        // Close context
+        BrowserContext context = contextThread.get();
+        if (context != null) {
+            try {
+                context.close();
+            } catch (Exception e) {
+                // Ignore
+            } finally {
+                contextThread.remove();
             }
-            
-            // Close playwright
-            Playwright playwright = playwrightThread.get();
-            if (playwright != null) {
-                try {
-                    playwright.close();
-                } catch (Exception e) {
-                    // Ignore
-                } finally {
-                    playwrightThread.remove();
+            HarRouter.finish(context);
+        }
+        VideoRecorder.finish(videos, failed);
+    }
+
+    /**
+     * Close browser and Playwright of the current thread
+     */
+    private static void closeWorker() {
+        discardParkedContext();
+        BrowserWatchdog.forget(browserThread.get(), playwrightThread.get());
+
+        // Pooled browsers are handed back for asynchronous shutdown
+        BrowserPool.PooledBrowser pooled = pooledThread.get();
+        if (pooled != null) {
+            pooledThread.remove();
+            browserThread.remove();
+            playwrightThread.remove();
+            workerPlaywrights.remove(pooled.playwright());
+            BrowserPool.retire(pooled);
+            return;
+        }
+
+        // Close browser
+        Browser browser = browserThread.get();
+        if (browser != null) {
+            try {
+                if (browser.isConnected()) {
+                    browser.close();
                 }
+            } catch (Exception e) {
+                // Ignore
+            } finally {
+                browserThread.remove();
+            }
+        }
+
+        // Close playwright
+        Playwright playwright = playwrightThread.get();
+        if (playwright != null) {
+            try {
+                workerPlaywrights.remove(playwright);
+                playwright.close();
+            } catch (Exception e) {
+                // Ignore
+            } finally {
+                playwrightThread.remove();
+            }
+        }
+    }
+
+    /**
+     * Shut down every worker-scoped Playwright driver and browser.
+     * Called once at suite end, when no worker is using its instances anymore.
+     */
+    public static void shutdown() {
+        closeBrowser();
+        closeWorker();
+        for (Playwright playwright : workerPlaywrights) {
+            try {
+                // Closing Playwright also closes the browsers it launched
+                playwright.close();
+            } catch (Exception e) {
+                System.err.println("Error during Playwright shutdown: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Error during browser cleanup: " + e.getMessage());
         }
+        workerPlaywrights.clear();
+        SharedPlaywright.shutdown();
     }
 }
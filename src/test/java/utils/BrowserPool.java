@@ -0,0 +1,275 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Browser Pool - Single Responsibility: Pre-warmed Browser Supply
+ * Launches browsers in the background so tests never wait on a cold launch
+ *
+ * Enabled with -DbrowserPoolSize=N (spare browsers kept ready per engine).
+ * Engines are taken from -DbrowserPoolEngines (comma separated, defaults to -Dbrowser).
+ * Every pooled browser owns its own Playwright instance (or uses the thread-safe
+ * proxy of the shared driver), so it is handed off whole to exactly one worker thread.
+ *
+ * Ready and launching browsers together never exceed the pool size: a launch reserves
+ * its slot before it starts. A failed launch hands its slot to the next waiting worker,
+ * which then launches a browser itself instead of waiting for the acquire timeout.
+ */
+public class BrowserPool {
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 120;
+
+    private static final Map<String, BlockingQueue<Launched>> ready = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> launching = new ConcurrentHashMap<>();
+    private static volatile ExecutorService launcher;
+
+    // Statistics
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong waitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+    private static final AtomicLong launches = new AtomicLong();
+    private static final AtomicLong retired = new AtomicLong();
+    private static final AtomicLong failedLaunches = new AtomicLong();
+
+    /**
+     * Result of a background launch: a browser, or the error that prevented it
+     */
+    private record Launched(PooledBrowser browser, Exception error) {
+    }
+
+    /**
+     * A launched browser together with the Playwright driver that owns it
+     */
+    public record PooledBrowser(Playwright playwright, Browser browser, String engine) {
+        void close() {
+            try {
+                if (browser.isConnected()) {
+                    browser.close();
+                }
+            } catch (Exception e) {
+                // Ignore
+            }
+            try {
+                playwright.close();
+            } catch (Exception e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Check whether the pool is configured
+     */
+    public static boolean isEnabled() {
+        return getPoolSize() > 0;
+    }
+
+    private static int getPoolSize() {
+        return Integer.parseInt(ConfigManager.get("browserPoolSize", "0"));
+    }
+
+    /**
+     * Start pre-warming the configured engines. Safe to call more than once.
+     */
+    public static synchronized void start() {
+        if (!isEnabled() || launcher != null) {
+            return;
+        }
+        int size = getPoolSize();
+        List<String> engines = getEngines();
+        launcher = Executors.newFixedThreadPool(Math.max(1, size * engines.size()), runnable -> {
+            Thread thread = new Thread(runnable, "browser-pool-launcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (String engine : engines) {
+            for (int i = 0; i < size; i++) {
+                launchAsync(engine);
+            }
+        }
+    }
+
+    private static List<String> getEngines() {
+        String value = ConfigManager.get("browserPoolEngines", System.getProperty("browser", "chromium"));
+        List<String> engines = new ArrayList<>();
+        for (String engine : value.split(",")) {
+            if (!engine.isBlank()) {
+                engines.add(engine.trim().toLowerCase());
+            }
+        }
+        return engines;
+    }
+
+    /**
+     * Hand out a ready browser for the given engine.
+     * A replacement is launched in the background for every browser handed out.
+     * @param engine chromium, firefox or webkit
+     * @return Launched browser owned by the calling thread from now on
+     */
+    public static PooledBrowser acquire(String engine) {
+        start();
+        String key = engine.toLowerCase();
+        BlockingQueue<Launched> queue = queueFor(key);
+
+        Launched launched = queue.poll();
+        if (launched != null && launched.browser() != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            // Engine not pre-warmed or nothing in flight - start a launch to wait on (if a slot is free)
+            launchAsync(key);
+            long started = System.nanoTime();
+            try {
+                if (launched == null) {
+                    launched = queue.poll(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long waited = System.nanoTime() - started;
+            waitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+
+        // Keep the pool topped up for the next caller
+        launchAsync(key);
+
+        PooledBrowser pooled = launched != null ? launched.browser() : null;
+        if (pooled == null || !pooled.browser().isConnected()) {
+            // Background launch failed or timed out - fall back to a launch on this thread
+            if (pooled != null) {
+                retire(pooled);
+            }
+            pooled = launch(key);
+        }
+        return pooled;
+    }
+
+    /**
+     * Retire a browser that is no longer needed; it is closed in the background
+     * @param pooled Browser previously returned by acquire
+     */
+    public static void retire(PooledBrowser pooled) {
+        retired.incrementAndGet();
+        ExecutorService executor = launcher;
+        if (executor == null || executor.isShutdown()) {
+            pooled.close();
+            return;
+        }
+        executor.submit(pooled::close);
+    }
+
+    private static BlockingQueue<Launched> queueFor(String engine) {
+        return ready.computeIfAbsent(engine, key -> new LinkedBlockingQueue<>());
+    }
+
+    private static AtomicInteger launchingFor(String engine) {
+        return launching.computeIfAbsent(engine, key -> new AtomicInteger());
+    }
+
+    private static void launchAsync(String engine) {
+        ExecutorService executor = launcher;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        AtomicInteger inFlight = launchingFor(engine);
+        if (!reserve(engine, inFlight)) {
+            return;
+        }
+        executor.submit(() -> {
+            Launched launched;
+            try {
+                launched = new Launched(launch(engine), null);
+            } catch (Exception e) {
+                failedLaunches.incrementAndGet();
+                System.err.println("Browser pool failed to launch " + engine + ": " + e.getMessage());
+                // Wake a waiting worker so it launches on its own thread instead of timing out
+                launched = new Launched(null, e);
+            }
+            queueFor(engine).add(launched);
+            inFlight.decrementAndGet();
+        });
+    }
+
+    /**
+     * Reserve a launch slot: ready plus launching browsers stay within the pool size
+     */
+    private static boolean reserve(String engine, AtomicInteger inFlight) {
+        int size = Math.max(1, getPoolSize());
+        while (true) {
+            int current = inFlight.get();
+            if (current + queueFor(engine).size() >= size) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static PooledBrowser launch(String engine) {
+        Playwright playwright = BrowserManager.newPlaywright();
+        try {
+            Browser browser = BrowserManager.launchBrowser(playwright, engine);
+            BrowserWatchdog.register(browser, playwright);
+            launches.incrementAndGet();
+            return new PooledBrowser(playwright, browser, engine);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Pool statistics: hits, misses and time spent waiting for a browser
+     */
+    public static String getStats() {
+        long acquired = hits.get() + misses.get();
+        double hitRatio = acquired == 0 ? 0 : (double) hits.get() / acquired;
+        return String.format("Browser pool: acquired=%d hits=%d misses=%d hitRatio=%.2f " +
+                "totalWaitMs=%d maxWaitMs=%d launches=%d failedLaunches=%d retired=%d",
+            acquired, hits.get(), misses.get(), hitRatio,
+            TimeUnit.NANOSECONDS.toMillis(waitNanos.get()),
+            TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+            launches.get(), failedLaunches.get(), retired.get());
+    }
+
+    /**
+     * Close all idle browsers and stop background launches
+     */
+    public static synchronized void shutdown() {
+        ExecutorService executor = launcher;
+        if (executor == null) {
+            return;
+        }
+        launcher = null;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (BlockingQueue<Launched> queue : ready.values()) {
+            Launched launched;
+            while ((launched = queue.poll()) != null) {
+                if (launched.browser() != null) {
+                    launched.browser().close();
+                }
+            }
+        }
+        System.out.println(getStats());
+    }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Browser Server Pool - Single Responsibility: Remote Browser Capacity
+ * Connects to Playwright browser servers instead of launching local browsers,
+ * spreading workers over the servers by current load
+ *
+ * Enabled with -DbrowserServers=ws://host1:3000/,ws://host2:3000/
+ * A server can be started on any node with:
+ *   mvn exec:java -e -D exec.mainClass=com.microsoft.playwright.CLI -D exec.args="run-server --port 3000"
+ * Servers are probed every -DbrowserServerHealthSeconds (default 10); unreachable
+ * servers are skipped until they answer again, and workers whose connection
+ * drops are reconnected to a healthy server on their next test.
+ */
+public class BrowserServerPool {
+    private static final List<Endpoint> endpoints = new ArrayList<>();
+    private static final Map<Browser, Endpoint> connections = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService healthChecker;
+
+    /**
+     * A browser server and the number of workers currently connected to it
+     */
+    private static final class Endpoint {
+        private final String url;
+        private final AtomicInteger load = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+    }
+
+    static {
+        String value = ConfigManager.get("browserServers", "");
+        for (String url : value.split(",")) {
+            if (!url.isBlank()) {
+                endpoints.add(new Endpoint(url.trim()));
+            }
+        }
+    }
+
+    /**
+     * Check whether browser servers are configured
+     */
+    public static boolean isEnabled() {
+        return !endpoints.isEmpty();
+    }
+
+    /**
+     * Connect to the least loaded healthy browser server
+     * @param playwright Playwright instance owning the connection
+     * @param browserType chromium, firefox or webkit
+     * @param slowMo Slow motion delay in milliseconds
+     * @return Connected remote browser
+     */
+    static Browser connect(Playwright playwright, String browserType, int slowMo) {
+        startHealthChecks();
+        BrowserType type = switch (browserType.toLowerCase()) {
+            case "firefox" -> playwright.firefox();
+            case "webkit" -> playwright.webkit();
+            default -> playwright.chromium();
+        };
+
+        RuntimeException lastError = null;
+        for (Endpoint endpoint : candidates()) {
+            try {
+                Browser browser = type.connect(endpoint.url,
+                    new BrowserType.ConnectOptions().setTimeout(30000).setSlowMo(slowMo));
+                endpoint.load.incrementAndGet();
+                connections.put(browser, endpoint);
+                browser.onDisconnected(BrowserServerPool::release);
+                return browser;
+            } catch (RuntimeException e) {
+                endpoint.healthy = false;
+                lastError = e;
+                System.err.println("Browser server " + endpoint.url + " unavailable: " + e.getMessage());
+            }
+        }
+        throw new IllegalStateException("No healthy browser server available in: " + getStats(), lastError);
+    }
+
+    /**
+     * Healthy endpoints first, least loaded first; unhealthy ones are only tried as a last resort
+     */
+    private static List<Endpoint> candidates() {
+        List<Endpoint> sorted = new ArrayList<>(endpoints);
+        sorted.sort(Comparator.<Endpoint, Boolean>comparing(endpoint -> !endpoint.healthy)
+            .thenComparingInt(endpoint -> endpoint.load.get()));
+        return sorted;
+    }
+
+    private static void release(Browser browser) {
+        Endpoint endpoint = connections.remove(browser);
+        if (endpoint != null) {
+            endpoint.load.decrementAndGet();
+        }
+    }
+
+    private static synchronized void startHealthChecks() {
+        if (healthChecker != null) {
+            return;
+        }
+        long interval = Long.parseLong(ConfigManager.get("browserServerHealthSeconds", "10"));
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "browser-server-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(BrowserServerPool::checkHealth, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static void checkHealth() {
+        for (Endpoint endpoint : endpoints) {
+            endpoint.healthy = isReachable(endpoint.url);
+        }
+    }
+
+    private static boolean isReachable(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("wss".equals(uri.getScheme()) ? 443 : 80);
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), port), 2000);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Current load and health of every browser server
+     */
+    public static String getStats() {
+        StringBuilder stats = new StringBuilder("Browser servers:");
+        for (Endpoint endpoint : endpoints) {
+            stats.append(String.format(" %s[load=%d healthy=%s]", endpoint.url, endpoint.load.get(), endpoint.healthy));
+        }
+        return stats.toString();
+    }
+
+    /**
+     * Stop health checks
+     */
+    public static synchronized void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+            System.out.println(getStats());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Browser Watchdog - Single Responsibility: Long-Lived Browser Health
+ * Tracks how many contexts each browser has served and how much memory its
+ * processes use, and tells BrowserManager when a browser should be replaced
+ *
+ * Configuration (0 disables a limit):
+ * - browserMaxContexts=0   retire a browser after serving this many contexts
+ * - browserMaxRssMb=0      retire a browser whose processes use more resident memory
+ *
+ * Memory is sampled from /proc (Linux) over all processes started by the browser's
+ * Playwright driver, so it is not available on other systems or for remote browsers.
+ * Setting browserMaxRssMb serialises driver startups (see createPlaywright).
+ * Disconnected (crashed) browsers are always retired.
+ */
+public class BrowserWatchdog {
+    private static final Map<Playwright, Long> driverPids = new ConcurrentHashMap<>();
+    private static final Map<Browser, Long> browserDrivers = new ConcurrentHashMap<>();
+    private static final Map<Browser, AtomicInteger> contextsServed = new ConcurrentHashMap<>();
+
+    private static final AtomicLong retiredDisconnected = new AtomicLong();
+    private static final AtomicLong retiredContexts = new AtomicLong();
+    private static final AtomicLong retiredMemory = new AtomicLong();
+    private static final AtomicLong peakRssMb = new AtomicLong();
+
+    /**
+     * Create a Playwright instance. With a memory limit, also remember the PID of the driver
+     * process it started; drivers are then started one at a time so the new child process
+     * can be attributed. Without a limit, drivers start concurrently (BrowserPool pre-warming).
+     */
+    static Playwright createPlaywright() {
+        if (Long.parseLong(ConfigManager.get("browserMaxRssMb", "0")) <= 0) {
+            return Playwright.create();
+        }
+        return createTrackedPlaywright();
+    }
+
+    private static synchronized Playwright createTrackedPlaywright() {
+        Set<Long> before = childPids();
+        Playwright playwright = Playwright.create();
+        Set<Long> started = childPids();
+        started.removeAll(before);
+        if (started.size() == 1) {
+            driverPids.put(playwright, started.iterator().next());
+        }
+        return playwright;
+    }
+
+    /**
+     * Associate a launched browser with the Playwright instance that launched it
+     */
+    static void register(Browser browser, Playwright playwright) {
+        Long pid = driverPids.get(playwright);
+        if (pid != null) {
+            browserDrivers.put(browser, pid);
+        }
+        contextsServed.put(browser, new AtomicInteger());
+    }
+
+    /**
+     * Record that the browser handed out another context
+     */
+    static void contextServed(Browser browser) {
+        contextsServed.computeIfAbsent(browser, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Decide whether a browser should be replaced before serving the next test
+     * @param browser Browser about to be reused
+     * @return true if it is disconnected, has served too many contexts or uses too much memory
+     */
+    static boolean shouldRetire(Browser browser) {
+        if (!browser.isConnected()) {
+            retiredDisconnected.incrementAndGet();
+            return true;
+        }
+        int maxContexts = Integer.parseInt(ConfigManager.get("browserMaxContexts", "0"));
+        AtomicInteger served = contextsServed.get(browser);
+        if (maxContexts > 0 && served != null && served.get() >= maxContexts) {
+            retiredContexts.incrementAndGet();
+            return true;
+        }
+        long maxRssMb = Long.parseLong(ConfigManager.get("browserMaxRssMb", "0"));
+        if (maxRssMb > 0) {
+            long rssMb = sampleRssMb(browser);
+            peakRssMb.accumulateAndGet(rssMb, Math::max);
+            if (rssMb > maxRssMb) {
+                retiredMemory.incrementAndGet();
+                System.out.println("Retiring browser using " + rssMb + " MB (limit " + maxRssMb + " MB)");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forget a browser that has been closed
+     */
+    static void forget(Browser browser, Playwright playwright) {
+        if (browser != null) {
+            browserDrivers.remove(browser);
+            contextsServed.remove(browser);
+        }
+        if (playwright != null) {
+            driverPids.remove(playwright);
+        }
+    }
+
+    /**
+     * Resident memory of all processes below the browser's driver, in MB (0 if unknown)
+     */
+    static long sampleRssMb(Browser browser) {
+        Long driverPid = browserDrivers.get(browser);
+        if (driverPid == null) {
+            return 0;
+        }
+        return ProcessHandle.of(driverPid)
+            .map(driver -> driver.descendants().mapToLong(process -> rssKb(process.pid())).sum() / 1024)
+            .orElse(0L);
+    }
+
+    private static long rssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc not available
+        }
+        return 0;
+    }
+
+    private static Set<Long> childPids() {
+        return ProcessHandle.current().children().map(ProcessHandle::pid).collect(Collectors.toSet());
+    }
+
+    /**
+     * Watchdog statistics
+     */
+    public static String getStats() {
+        return String.format("Browser watchdog: retired disconnected=%d contextLimit=%d memoryLimit=%d peakRssMb=%d",
+            retiredDisconnected.get(), retiredContexts.get(), retiredMemory.get(), peakRssMb.get());
+    }
+}
@@ -0,0 +1,170 @@
+package utils;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+
+/**
+ * Context Recycler - Single Responsibility: Fast BrowserContext State Reset
+ * Wipes cookies, permissions, storage and extra pages so a context can be
+ * handed to the next test instead of being closed and recreated
+ *
+ * Enabled with -DcontextRecycling=true (only effective with the worker lifecycle).
+ * After every reset a verifier decides whether the context is clean;
+ * if it is not, BrowserManager falls back to a fresh context.
+ */
+public class ContextRecycler {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String RESET_PATH = "/__context_reset__";
+
+    // Origins the main frame visited since the last reset, per worker thread
+    private static final ThreadLocal<Set<String>> visitedOrigins =
+        ThreadLocal.withInitial(() -> Collections.synchronizedSet(new LinkedHashSet<>()));
+
+    private static volatile Predicate<BrowserContext> verifier = ContextRecycler::isClean;
+
+    private static final AtomicLong recycled = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * Check whether context recycling is configured
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.get("contextRecycling", "false"));
+    }
+
+    /**
+     * Replace the verification hook run after every reset
+     * @param contextVerifier Returns true if the context is clean enough to be reused
+     */
+    public static void setVerifier(Predicate<BrowserContext> contextVerifier) {
+        verifier = contextVerifier != null ? contextVerifier : ContextRecycler::isClean;
+    }
+
+    /**
+     * Start recording the origins a page visits, so their storage can be cleared on reset
+     * @param page Main page of a recyclable context
+     */
+    static void track(Page page) {
+        // Handlers may run on another thread (shared driver mode), so bind to this worker's set now
+        Set<String> origins = visitedOrigins.get();
+        origins.clear();
+        page.onFrameNavigated(frame -> {
+            if (frame.parentFrame() == null) {
+                String origin = originOf(frame.url());
+                if (origin != null) {
+                    origins.add(origin);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reset a context to a clean state and leave its main page on about:blank
+     * @param context Context to reset
+     * @param page Main page to keep
+     * @return true if the context passed verification and may be reused
+     */
+    static boolean reset(BrowserContext context, Page page) {
+        try {
+            // Extra pages (popups, new tabs) are closed
+            for (Page other : context.pages()) {
+                if (other != page) {
+                    other.close();
+                }
+            }
+
+            // Storage lives per origin, so clear it on every origin that may hold some
+            Set<String> origins;
+            synchronized (visitedOrigins.get()) {
+                origins = new LinkedHashSet<>(visitedOrigins.get());
+            }
+            origins.addAll(storageOrigins(context));
+            for (String origin : origins) {
+                clearOriginStorage(page, origin);
+            }
+            visitedOrigins.get().clear();
+
+            context.clearCookies();
+            context.clearPermissions();
+            page.navigate("about:blank");
+
+            if (verifier.test(context)) {
+                recycled.incrementAndGet();
+                return true;
+            }
+        } catch (Exception e) {
+            System.err.println("Context reset failed, falling back to a fresh context: " + e.getMessage());
+        }
+        fallbacks.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Default verifier: one page, no cookies and no origin with local storage left
+     */
+    static boolean isClean(BrowserContext context) {
+        if (context.pages().size() != 1) {
+            return false;
+        }
+        try {
+            JsonNode state = objectMapper.readTree(context.storageState());
+            return state.path("cookies").isEmpty() && state.path("origins").isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Recycling statistics
+     */
+    public static String getStats() {
+        return String.format("Context recycling: recycled=%d fallbacks=%d", recycled.get(), fallbacks.get());
+    }
+
+    private static Set<String> storageOrigins(BrowserContext context) throws Exception {
+        Set<String> origins = new LinkedHashSet<>();
+        for (JsonNode origin : objectMapper.readTree(context.storageState()).path("origins")) {
+            origins.add(origin.path("origin").asText());
+        }
+        return origins;
+    }
+
+    /**
+     * Open a stub document on the origin (served by a route, no network) and clear its storage
+     */
+    private static void clearOriginStorage(Page page, String origin) {
+        String url = origin + RESET_PATH;
+        page.route(url, route -> route.fulfill(new Route.FulfillOptions()
+            .setContentType("text/html")
+            .setBody("<html></html>")));
+        try {
+            page.navigate(url);
+            page.evaluate("() => { localStorage.clear(); sessionStorage.clear(); }");
+        } finally {
+            page.unroute(url);
+        }
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+                return null;
+            }
+            return scheme + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
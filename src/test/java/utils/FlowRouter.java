@@ -0,0 +1,101 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Flow Router - Single Responsibility: Reaching Target Pages Directly
+ * Opens a page object's entry URL by deep link instead of clicking through the home page,
+ * for tests that need to be on a page but do not test how users get there
+ *
+ * Entry points:
+ * - LOGIN  (/login) - login form and "New User Signup!" form (signup starts here too;
+ *   /signup itself only works as the target of the signup form post)
+ *
+ * reach() takes the deep link and clickThrough() runs the full user flow; both are timed
+ * per target, so getStats() reports the navigations and milliseconds the shortcuts saved.
+ * -DflowShortcuts=false makes reach() click through as well.
+ */
+public class FlowRouter {
+    public static final String LOGIN = "/login";
+
+    // Page loads of the click-through flow replaced by the single deep link: home page + target
+    private static final int CLICK_THROUGH_NAVIGATIONS = 2;
+
+    private static final Map<String, AtomicLong> shortcuts = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> shortcutMillis = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> clickThroughs = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> clickThroughMillis = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether deep-link shortcuts are enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.get("flowShortcuts", "true"));
+    }
+
+    /**
+     * Bring the page to a target, by deep link when shortcuts are enabled
+     * @param page Page to navigate
+     * @param target Entry path, e.g. FlowRouter.LOGIN
+     * @param clickThrough The user flow to the same target, used when shortcuts are disabled
+     */
+    public static void reach(Page page, String target, Runnable clickThrough) {
+        if (!isEnabled()) {
+            clickThrough(target, clickThrough);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        NavigationStrategy.navigate(page, "FlowRouter" + target, NavigationStrategy.DOMCONTENTLOADED,
+            ConfigManager.getBaseUrl() + target);
+        add(shortcuts, target, 1);
+        add(shortcutMillis, target, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Run the full user flow to a target, e.g. in tests that check the navigation itself.
+     * Its duration is the baseline for the time the shortcuts save.
+     * @param target Entry path the flow ends on
+     * @param clickThrough The user flow
+     */
+    public static void clickThrough(String target, Runnable clickThrough) {
+        long start = System.currentTimeMillis();
+        clickThrough.run();
+        add(clickThroughs, target, 1);
+        add(clickThroughMillis, target, System.currentTimeMillis() - start);
+    }
+
+    private static void add(Map<String, AtomicLong> counters, String target, long value) {
+        counters.computeIfAbsent(target, key -> new AtomicLong()).addAndGet(value);
+    }
+
+    /**
+     * Check whether any shortcut was taken in this run
+     */
+    public static boolean hasRouted() {
+        return !shortcuts.isEmpty();
+    }
+
+    /**
+     * Shortcut statistics per target; saved time is estimated from the measured click-through flows
+     */
+    public static String getStats() {
+        String lines = shortcuts.keySet().stream().sorted().map(target -> {
+            long count = shortcuts.get(target).get();
+            long avgShortcut = shortcutMillis.get(target).get() / count;
+            AtomicLong baselineCount = clickThroughs.get(target);
+            String savedMs = "n/a";
+            if (baselineCount != null && baselineCount.get() > 0) {
+                long avgClickThrough = clickThroughMillis.get(target).get() / baselineCount.get();
+                savedMs = String.valueOf(count * (avgClickThrough - avgShortcut));
+            }
+            return String.format("  %s: shortcuts=%d savedNavigations=%d avgShortcutMs=%d savedMs=%s",
+                target, count, count * (CLICK_THROUGH_NAVIGATIONS - 1), avgShortcut, savedMs);
+        }).collect(Collectors.joining(System.lineSeparator()));
+        return "Flow shortcuts:" + System.lineSeparator() + lines;
+    }
+}
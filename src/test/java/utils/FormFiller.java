@@ -0,0 +1,187 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Form Filler - Single Responsibility: Batched Form Input
+ * Fills many form fields in one in-page script instead of one Playwright round trip per field
+ *
+ * Fields are collected with fill / check / select and applied together. The script sets each
+ * value the way a user would leave it (native value setter, click for checkboxes and radios)
+ * and dispatches input and change events. Fields it cannot handle - no match for the CSS
+ * selector, disabled, unknown option, not an input / textarea / select, or any script error -
+ * are filled afterwards, one by one, with regular Playwright actions,
+ * which auto-wait and report errors as usual.
+ *
+ * -DformFill=sequential fills every field with Playwright actions instead, which also provides
+ * the per-field baseline for the time-saved estimate in getStats().
+ */
+public class FormFiller {
+    private static final String BATCH_SCRIPT = """
+        fields => {
+          const failed = [];
+          const setters = [HTMLInputElement, HTMLTextAreaElement, HTMLSelectElement];
+          const fillOne = field => {
+            const el = document.querySelector(field.selector);
+            if (!el || el.disabled) {
+              return false;
+            }
+            if (field.action === 'check') {
+              if (!el.checked) {
+                el.click();
+              }
+              return !!el.checked;
+            }
+            if (field.action === 'select') {
+              const option = Array.from(el.options || [])
+                .find(o => o.value === field.value || o.label === field.value);
+              if (!option) {
+                return false;
+              }
+              el.value = option.value;
+            } else {
+              // Native setter of the element's own type, so frameworks see the change
+              const type = setters.find(t => el instanceof t);
+              if (!type) {
+                return false;
+              }
+              Object.getOwnPropertyDescriptor(type.prototype, 'value').set.call(el, field.value);
+            }
+            el.dispatchEvent(new Event('input', { bubbles: true }));
+            el.dispatchEvent(new Event('change', { bubbles: true }));
+            return true;
+          };
+          fields.forEach((field, index) => {
+            // A field that cannot be filled here falls back to Playwright on its own
+            try {
+              if (!fillOne(field)) {
+                failed.push(index);
+              }
+            } catch (e) {
+              failed.push(index);
+            }
+          });
+          return failed;
+        }
+        """;
+
+    private static final AtomicLong batches = new AtomicLong();
+    private static final AtomicLong batchedFields = new AtomicLong();
+    private static final AtomicLong batchNanos = new AtomicLong();
+    private static final AtomicLong sequentialFields = new AtomicLong();
+    private static final AtomicLong sequentialNanos = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+
+    private final Page page;
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+
+    private FormFiller(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Start a batch of form fields on a page
+     * @param page Page holding the form
+     */
+    public static FormFiller on(Page page) {
+        return new FormFiller(page);
+    }
+
+    /**
+     * Type a value into a text input or textarea
+     */
+    public FormFiller fill(String selector, String value) {
+        return add(selector, "fill", value != null ? value : "");
+    }
+
+    /**
+     * Check a checkbox or radio button
+     */
+    public FormFiller check(String selector) {
+        return add(selector, "check", null);
+    }
+
+    /**
+     * Select an option of a select element by value or label
+     */
+    public FormFiller select(String selector, String value) {
+        return add(selector, "select", value);
+    }
+
+    private FormFiller add(String selector, String action, String value) {
+        Map<String, Object> field = new LinkedHashMap<>();
+        field.put("selector", selector);
+        field.put("action", action);
+        field.put("value", value);
+        fields.add(field);
+        return this;
+    }
+
+    /**
+     * Fill all collected fields
+     */
+    public void apply() {
+        if (fields.isEmpty()) {
+            return;
+        }
+        if ("sequential".equalsIgnoreCase(ConfigManager.get("formFill", "batch"))) {
+            fields.forEach(this::applySequential);
+            return;
+        }
+
+        long start = System.nanoTime();
+        // The script does not auto-wait, so wait once for the form to be attached
+        page.locator((String) fields.get(0).get("selector")).first().waitFor();
+        List<?> failed = (List<?>) page.evaluate(BATCH_SCRIPT, fields);
+        batchNanos.addAndGet(System.nanoTime() - start);
+        batches.incrementAndGet();
+        batchedFields.addAndGet(fields.size() - failed.size());
+
+        for (Object index : failed) {
+            fallbacks.incrementAndGet();
+            applySequential(fields.get(((Number) index).intValue()));
+        }
+    }
+
+    private void applySequential(Map<String, Object> field) {
+        long start = System.nanoTime();
+        String selector = (String) field.get("selector");
+        String value = (String) field.get("value");
+        switch ((String) field.get("action")) {
+            case "check" -> page.locator(selector).check();
+            case "select" -> page.locator(selector).selectOption(value);
+            default -> page.locator(selector).fill(value);
+        }
+        sequentialNanos.addAndGet(System.nanoTime() - start);
+        sequentialFields.incrementAndGet();
+    }
+
+    /**
+     * Batch statistics; the time saved is estimated from the measured per-field cost
+     * of Playwright actions (sequential mode or fallbacks) when such samples exist
+     */
+    public static String getStats() {
+        long batchMs = TimeUnit.NANOSECONDS.toMillis(batchNanos.get());
+        String saved = "n/a";
+        if (sequentialFields.get() > 0) {
+            double perFieldMs = TimeUnit.NANOSECONDS.toMillis(sequentialNanos.get()) / (double) sequentialFields.get();
+            saved = String.valueOf(Math.round(batchedFields.get() * perFieldMs - batchMs));
+        }
+        return String.format("Form filling: batches=%d batchedFields=%d batchMs=%d fallbacks=%d sequentialFields=%d estimatedSavedMs=%s",
+            batches.get(), batchedFields.get(), batchMs, fallbacks.get(), sequentialFields.get(), saved);
+    }
+
+    /**
+     * Check whether any form was filled in this run
+     */
+    public static boolean hasFilled() {
+        return batches.get() > 0 || sequentialFields.get() > 0;
+    }
+}
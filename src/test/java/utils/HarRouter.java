@@ -0,0 +1,156 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+
+/**
+ * HAR Router - Single Responsibility: Network Record and Replay
+ * Records each test's network traffic to a HAR file, or serves later runs from it,
+ * so UI suites can run offline at local-disk speed
+ *
+ * Configuration:
+ * - harMode:     off (default), record or replay
+ * - harDir:      directory holding one HAR per test (default target/har)
+ * - harNotFound: what replay does with requests missing from the HAR -
+ *                abort (default, fully offline) or fallback (go to the network)
+ * - harUrl:      optional glob limiting which URLs are recorded/replayed
+ *
+ * Recordings are sanitised once their context is closed: credentials and session headers
+ * (Authorization, Cookie, Set-Cookie), cookie lists and request bodies (login and signup
+ * forms) are removed. Entries without a body match any request body on replay.
+ */
+public class HarRouter {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Set<String> SECRET_HEADERS = Set.of("authorization", "proxy-authorization", "cookie", "set-cookie");
+
+    // HAR file being recorded per open context
+    private static final Map<BrowserContext, Path> recordings = new ConcurrentHashMap<>();
+
+    /**
+     * HAR run modes
+     */
+    public enum Mode {
+        OFF,
+        RECORD,
+        REPLAY;
+
+        static Mode fromConfig() {
+            return valueOf(ConfigManager.get("harMode", "off").toUpperCase());
+        }
+    }
+
+    /**
+     * Get the configured HAR mode
+     */
+    public static Mode getMode() {
+        return Mode.fromConfig();
+    }
+
+    /**
+     * Check whether HAR recording or replay is active
+     */
+    public static boolean isEnabled() {
+        return getMode() != Mode.OFF;
+    }
+
+    /**
+     * Record to or replay from the HAR file of the given test.
+     * Recorded HARs are written when the context closes.
+     * @param context Newly created context
+     * @param testId Identifier of the test owning the context
+     */
+    static void apply(BrowserContext context, String testId) {
+        Mode mode = getMode();
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Path har = harPath(testId);
+        String urlFilter = ConfigManager.get("harUrl");
+        BrowserContext.RouteFromHAROptions options = new BrowserContext.RouteFromHAROptions();
+        if (urlFilter != null) {
+            options.setUrl(urlFilter);
+        }
+
+        if (mode == Mode.RECORD) {
+            try {
+                Files.createDirectories(har.getParent());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create HAR directory: " + har.getParent(), e);
+            }
+            context.routeFromHAR(har, options
+                .setUpdate(true)
+                .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                .setUpdateMode(HarMode.MINIMAL));
+            recordings.put(context, har);
+            return;
+        }
+
+        HarNotFound notFound = HarNotFound.valueOf(ConfigManager.get("harNotFound", "abort").toUpperCase());
+        if (Files.exists(har)) {
+            context.routeFromHAR(har, options.setNotFound(notFound));
+        } else if (notFound == HarNotFound.ABORT) {
+            // Nothing recorded for this test - keep the run offline anyway
+            System.err.println("No HAR recorded for " + testId + ", aborting its network requests");
+            context.route(urlFilter != null ? urlFilter : "**/*", route -> route.abort());
+        } else {
+            System.err.println("No HAR recorded for " + testId + ", using the network");
+        }
+    }
+
+    /**
+     * Sanitise the HAR recorded by a context; Playwright writes it while the context closes
+     * @param context Context that has just been closed
+     */
+    static void finish(BrowserContext context) {
+        Path har = recordings.remove(context);
+        if (har == null || !Files.exists(har)) {
+            return;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(har.toFile());
+            for (JsonNode entry : root.path("log").path("entries")) {
+                sanitize(entry.path("request"));
+                sanitize(entry.path("response"));
+                if (entry.path("request") instanceof ObjectNode request) {
+                    request.remove("postData");
+                }
+            }
+            objectMapper.writeValue(har.toFile(), root);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not sanitise HAR " + har + " - " + e.getMessage());
+        }
+    }
+
+    private static void sanitize(JsonNode message) {
+        if (!(message instanceof ObjectNode node)) {
+            return;
+        }
+        node.putArray("cookies");
+        Iterator<JsonNode> headers = node.path("headers").iterator();
+        while (headers.hasNext()) {
+            if (SECRET_HEADERS.contains(headers.next().path("name").asText().toLowerCase())) {
+                headers.remove();
+            }
+        }
+    }
+
+    private static Path harPath(String testId) {
+        String dir = ConfigManager.get("harDir", "target/har");
+        String fileName = (testId != null ? testId : "default").replaceAll("[^A-Za-z0-9._-]", "_") + ".har";
+        return Paths.get(dir, fileName);
+    }
+}
@@ -0,0 +1,128 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+/**
+ * HTTP Connection Pool - Single Responsibility: Shared Keep-Alive Connections for API Clients
+ * One bounded pool of keep-alive connections used by every RestAssured request of the run,
+ * instead of a new connection per request
+ *
+ * Configuration:
+ * - apiMaxConnections=20          total connections
+ * - apiMaxConnectionsPerRoute=10  connections per host
+ *
+ * Requests beyond the limits wait for a connection; getStats() shows leased and idle
+ * connections, the peak leased at once, and how often and how long requests waited.
+ * A lease counts as a wait only if the pool was exhausted or had queued requests when it was requested.
+ * RestAssured builds on the Apache HttpClient 4 classic API, hence DefaultHttpClient
+ * and PoolingClientConnectionManager.
+ *
+ * The pool lives as long as the JVM: cached clients (UserApiClient.forBaseUrl) keep its
+ * configuration, and one JVM may run several suites. A shutdown hook closes it.
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong waitMillis = new AtomicLong();
+    private static final AtomicLong peakLeased = new AtomicLong();
+
+    private static PoolingClientConnectionManager connectionManager;
+    private static DefaultHttpClient httpClient;
+    private static RestAssuredConfig config;
+
+    /**
+     * RestAssured configuration that sends requests through the shared pool
+     */
+    public static synchronized RestAssuredConfig config() {
+        if (config == null) {
+            connectionManager = new MeteredConnectionManager();
+            connectionManager.setMaxTotal(Integer.parseInt(ConfigManager.get("apiMaxConnections", "20")));
+            connectionManager.setDefaultMaxPerRoute(Integer.parseInt(ConfigManager.get("apiMaxConnectionsPerRoute", "10")));
+            httpClient = new DefaultHttpClient(connectionManager);
+            Runtime.getRuntime().addShutdownHook(new Thread(HttpConnectionPool::shutdown, "http-pool-shutdown"));
+            HttpPoolState.created = true;
+            DefaultHttpClient client = httpClient;
+            config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> client)
+                .reuseHttpClientInstance());
+        }
+        return config;
+    }
+
+    /**
+     * Pool statistics: leases, peak leased, waits for a connection and the current pool state
+     */
+    public static synchronized String getStats() {
+        if (connectionManager == null) {
+            return "HTTP pool: not used";
+        }
+        PoolStats stats = connectionManager.getTotalStats();
+        return String.format("HTTP pool: leases=%d peakLeased=%d waits=%d waitMs=%d leased=%d idle=%d pending=%d max=%d",
+            leases.get(), peakLeased.get(), waits.get(), waitMillis.get(),
+            stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    /**
+     * Close idle connections and the pool. Runs from the JVM shutdown hook.
+     */
+    private static synchronized void shutdown() {
+        if (connectionManager != null) {
+            connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+            connectionManager.shutdown();
+            connectionManager = null;
+            httpClient = null;
+            config = null;
+        }
+    }
+
+    /**
+     * Connection manager measuring how long each request waits for a pooled connection
+     */
+    private static final class MeteredConnectionManager extends PoolingClientConnectionManager {
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    // Only a lease that finds the pool exhausted (or others already queued) waits for a connection;
+                    // time spent opening a new connection is not contention
+                    PoolStats routeStats = getStats(route);
+                    PoolStats totalStats = getTotalStats();
+                    boolean contended = routeStats.getPending() > 0 || totalStats.getPending() > 0
+                        || routeStats.getLeased() >= routeStats.getMax() || totalStats.getLeased() >= totalStats.getMax();
+                    long start = System.nanoTime();
+                    try {
+                        return request.getConnection(timeout, unit);
+                    } finally {
+                        leases.incrementAndGet();
+                        if (contended) {
+                            waits.incrementAndGet();
+                            waitMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        }
+                        peakLeased.accumulateAndGet(getTotalStats().getLeased(), Math::max);
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+}
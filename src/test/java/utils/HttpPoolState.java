@@ -0,0 +1,13 @@
+package utils;
+
+/**
+ * HTTP Pool State - whether HttpConnectionPool was created in this JVM
+ * Kept apart from HttpConnectionPool, so checking it does not load Apache HttpClient
+ * and RestAssured in UI-only runs that never use them.
+ */
+final class HttpPoolState {
+    static volatile boolean created;
+
+    private HttpPoolState() {
+    }
+}
@@ -0,0 +1,120 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitUntilState;
+
+/**
+ * Navigation Strategy - how long a page object action waits after navigating
+ *
+ * - COMMIT:            the response has started arriving (navigate) / no wait (clicks)
+ * - DOMCONTENTLOADED:  the HTML is parsed
+ * - LOAD:              the load event, including images and third-party iframes
+ * - FIRST_PARTY_IDLE:  DOMContentLoaded, then no request to the site under test in flight
+ *
+ * Page objects pass their own default per action. It can be overridden for all actions
+ * with -Dnavigation=load, or for one action with e.g. -Dnavigation.LoginPage.submitLogin=load
+ * (per-action settings win). Every action is timed per strategy, see getStats().
+ */
+public enum NavigationStrategy {
+    COMMIT,
+    DOMCONTENTLOADED,
+    LOAD,
+    FIRST_PARTY_IDLE;
+
+    private static final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> millis = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve the strategy of an action: per-action setting, global setting, then the page object default
+     * @param action Action name, e.g. LoginPage.submitLogin
+     * @param defaultStrategy Cheapest strategy the page object knows to be correct
+     */
+    public static NavigationStrategy forAction(String action, NavigationStrategy defaultStrategy) {
+        String value = ConfigManager.get("navigation." + action);
+        if (value == null) {
+            value = ConfigManager.get("navigation");
+        }
+        return value != null ? valueOf(value.trim().toUpperCase()) : defaultStrategy;
+    }
+
+    /**
+     * Navigate to a URL and wait according to the action's strategy
+     * @param page Page to navigate
+     * @param action Action name, e.g. HomePage.navigate
+     * @param defaultStrategy Page object default
+     * @param url Target URL
+     */
+    public static void navigate(Page page, String action, NavigationStrategy defaultStrategy, String url) {
+        NavigationStrategy strategy = forAction(action, defaultStrategy);
+        long start = System.currentTimeMillis();
+        page.navigate(url, new Page.NavigateOptions().setWaitUntil(strategy.waitUntil()));
+        if (strategy == FIRST_PARTY_IDLE) {
+            Waits.forFirstPartyIdle(page);
+        }
+        record(action, strategy, start);
+    }
+
+    /**
+     * Run an action that may navigate (a click, a submit) and wait according to its strategy.
+     * The wait applies to the document that is current once the action returns.
+     * @param page Page the action runs on
+     * @param action Action name, e.g. LoginPage.submitLogin
+     * @param defaultStrategy Page object default
+     * @param trigger The action itself
+     */
+    public static void perform(Page page, String action, NavigationStrategy defaultStrategy, Runnable trigger) {
+        NavigationStrategy strategy = forAction(action, defaultStrategy);
+        long start = System.currentTimeMillis();
+        trigger.run();
+        switch (strategy) {
+            case DOMCONTENTLOADED -> page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+            case LOAD -> page.waitForLoadState(LoadState.LOAD);
+            case FIRST_PARTY_IDLE -> {
+                page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+                Waits.forFirstPartyIdle(page);
+            }
+            default -> {
+                // COMMIT: the next locator action auto-waits for what it needs
+            }
+        }
+        record(action, strategy, start);
+    }
+
+    private WaitUntilState waitUntil() {
+        return switch (this) {
+            case COMMIT -> WaitUntilState.COMMIT;
+            case LOAD -> WaitUntilState.LOAD;
+            default -> WaitUntilState.DOMCONTENTLOADED;
+        };
+    }
+
+    private static void record(String action, NavigationStrategy strategy, long start) {
+        String key = action + " [" + strategy + "]";
+        counts.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        millis.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Check whether any action was timed in this run
+     */
+    public static boolean hasTimings() {
+        return !counts.isEmpty();
+    }
+
+    /**
+     * Average duration per action and strategy
+     */
+    public static String getStats() {
+        String lines = counts.keySet().stream().sorted()
+            .map(key -> String.format("  %s: calls=%d avgMs=%d", key, counts.get(key).get(),
+                millis.get(key).get() / counts.get(key).get()))
+            .collect(Collectors.joining(System.lineSeparator()));
+        return "Navigation timings:" + System.lineSeparator() + lines;
+    }
+}
@@ -0,0 +1,207 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.JSHandle;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * Outcome Race - Single Responsibility: Waiting for the First of Several Page States
+ * Waits for whichever named outcome appears first (a visible element, a text, a URL)
+ * in one browser-side wait, instead of checking each candidate in turn
+ *
+ * Several conditions may share a name (e.g. three ways of detecting "created");
+ * the first name whose condition holds wins. Navigations during the wait are tolerated.
+ * If no outcome appears within the timeout, the result is {@link #NONE}.
+ *
+ * Forms the browser refuses to submit are not raced: checkSubmit() checks the form's
+ * validity before the click, and Submission.wasBlocked() confirms afterwards that no
+ * navigation happened. Re-rendered forms have empty required inputs that match :invalid
+ * at once, so racing :invalid against the server's answer would report invalid input early.
+ *
+ * Default timeout: -DoutcomeTimeoutMs=10000
+ */
+public class OutcomeRace {
+    public static final String NONE = "none";
+
+    private static final String RACE_SCRIPT = """
+        conditions => {
+          const visible = el => !!(el && (el.offsetWidth || el.offsetHeight || el.getClientRects().length));
+          const text = (document.body ? document.body.innerText : '').toLowerCase();
+          for (const c of conditions) {
+            if (c.kind === 'selector' && Array.from(document.querySelectorAll(c.value)).some(visible)) {
+              return c.name;
+            }
+            if (c.kind === 'text' && text.includes(c.value.toLowerCase())) {
+              return c.name;
+            }
+            if (c.kind === 'url' && location.href.includes(c.value)) {
+              return c.name;
+            }
+          }
+          return null;
+        }
+        """;
+
+    private static final Map<String, AtomicLong> wins = new ConcurrentHashMap<>();
+    private static final AtomicLong races = new AtomicLong();
+    private static final AtomicLong totalMillis = new AtomicLong();
+
+    private final Page page;
+    private final List<Map<String, String>> conditions = new ArrayList<>();
+
+    /**
+     * Outcome of a race
+     * @param outcome Name of the winning outcome, or NONE
+     * @param elapsedMs Time until it appeared (or the timeout)
+     */
+    public record Result(String outcome, long elapsedMs) {
+        public boolean is(String name) {
+            return outcome.equals(name);
+        }
+    }
+
+    /**
+     * A form submission checked before the click
+     * @param page Page the form is on
+     * @param invalid true if the browser's constraint validation failed before the click
+     */
+    public record Submission(Page page, boolean invalid) {
+        /**
+         * true if the form was invalid and the document it was on is still loaded (no navigation happened)
+         */
+        public boolean wasBlocked() {
+            if (!invalid) {
+                return false;
+            }
+            try {
+                return Boolean.TRUE.equals(page.evaluate("() => window.__outcomeRaceSubmit === true"));
+            } catch (PlaywrightException e) {
+                // The document is being replaced - a navigation happened
+                return false;
+            }
+        }
+    }
+
+    private OutcomeRace(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Start describing the outcomes to wait for on a page
+     */
+    public static OutcomeRace on(Page page) {
+        return new OutcomeRace(page);
+    }
+
+    /**
+     * Outcome: a visible element matching a CSS selector
+     */
+    public OutcomeRace selector(String name, String css) {
+        return add(name, "selector", css);
+    }
+
+    /**
+     * Outcome: the page text contains a string (case-insensitive)
+     */
+    public OutcomeRace text(String name, String text) {
+        return add(name, "text", text);
+    }
+
+    /**
+     * Outcome: the page URL contains a string
+     */
+    public OutcomeRace url(String name, String fragment) {
+        return add(name, "url", fragment);
+    }
+
+    private OutcomeRace add(String name, String kind, String value) {
+        Map<String, String> condition = new LinkedHashMap<>();
+        condition.put("name", name);
+        condition.put("kind", kind);
+        condition.put("value", value);
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * Check the validity of a submit button's form and mark the current document, right before the click
+     * @param page Page the form is on
+     * @param submitButton Button about to be clicked
+     * @return Submission to ask wasBlocked() once the click returned
+     */
+    public static Submission checkSubmit(Page page, Locator submitButton) {
+        Object valid = submitButton.evaluate(
+            "button => { window.__outcomeRaceSubmit = true; return !button.form || button.form.checkValidity(); }");
+        return new Submission(page, !Boolean.TRUE.equals(valid));
+    }
+
+    /**
+     * Record an outcome that was decided without waiting, e.g. a submission the browser blocked
+     * @param outcome Outcome name
+     * @return Result with no elapsed time
+     */
+    public static Result settled(String outcome) {
+        races.incrementAndGet();
+        wins.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+        return new Result(outcome, 0);
+    }
+
+    /**
+     * Wait with the configured default timeout
+     */
+    public Result await() {
+        return await(Long.parseLong(ConfigManager.get("outcomeTimeoutMs", "10000")));
+    }
+
+    /**
+     * Wait until one of the outcomes appears
+     * @param timeoutMs Maximum wait
+     * @return Winning outcome and elapsed time
+     */
+    public Result await(long timeoutMs) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        String outcome = NONE;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                JSHandle handle = page.waitForFunction(RACE_SCRIPT, conditions,
+                    new Page.WaitForFunctionOptions().setTimeout(deadline - System.currentTimeMillis()));
+                outcome = String.valueOf(handle.jsonValue());
+                handle.dispose();
+                break;
+            } catch (PlaywrightException e) {
+                // A navigation destroyed the context the wait ran in - wait again in the new document
+                if (e.getMessage() == null || !e.getMessage().contains("context was destroyed")) {
+                    break;
+                }
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        races.incrementAndGet();
+        totalMillis.addAndGet(elapsed);
+        wins.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+        return new Result(outcome, elapsed);
+    }
+
+    /**
+     * Check whether any race ran in this run
+     */
+    public static boolean hasRaced() {
+        return races.get() > 0;
+    }
+
+    /**
+     * Race statistics: wins per outcome name and total time spent waiting
+     */
+    public static String getStats() {
+        return String.format("Outcome races: races=%d totalMs=%d wins=%s", races.get(), totalMillis.get(), wins);
+    }
+}
@@ -0,0 +1,150 @@
+package utils;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Request Blocker - Single Responsibility: Network Blocking Profiles
+ * Aborts requests the tests do not need (ads, trackers, media, fonts, images)
+ * through Playwright routing on every new context
+ *
+ * Select a profile with -DblockingProfile:
+ * - full:       block nothing (default)
+ * - functional: block third-party requests and media
+ * - lean:       functional plus images and fonts
+ */
+public class RequestBlocker {
+    private static final Set<String> MEDIA_TYPES = Set.of("media");
+    private static final Set<String> LEAN_TYPES = Set.of("media", "image", "font");
+
+    // Blocked requests of the current test, keyed by "resourceType host"
+    private static final ThreadLocal<Map<String, Integer>> blockedThread = ThreadLocal.withInitial(ConcurrentSkipListMap::new);
+    private static final AtomicLong totalBlocked = new AtomicLong();
+
+    /**
+     * Named blocking profiles
+     */
+    public enum Profile {
+        FULL,
+        FUNCTIONAL,
+        LEAN;
+
+        static Profile fromConfig() {
+            return valueOf(ConfigManager.get("blockingProfile", "full").toUpperCase());
+        }
+    }
+
+    /**
+     * Get the configured blocking profile
+     */
+    public static Profile getProfile() {
+        return Profile.fromConfig();
+    }
+
+    /**
+     * Install the configured profile on a new context.
+     * Nothing is routed for the full profile, since routing disables the browser's HTTP cache.
+     * @param context Newly created context
+     */
+    static void apply(BrowserContext context) {
+        Profile profile = getProfile();
+        if (profile == Profile.FULL) {
+            return;
+        }
+        String firstPartyDomain = siteDomain(URI.create(ConfigManager.getBaseUrl()).getHost());
+        // Handlers may run on another thread (shared driver mode), so bind to this worker's counters now
+        Map<String, Integer> blocked = blockedThread.get();
+        context.route("**/*", route -> {
+            Request request = route.request();
+            String host = hostOf(request.url());
+            if (shouldBlock(profile, request.resourceType(), host, firstPartyDomain)) {
+                blocked.merge(request.resourceType() + " " + host, 1, Integer::sum);
+                totalBlocked.incrementAndGet();
+                route.abort("blockedbyclient");
+            } else {
+                // Let other handlers (or the network) take the request
+                route.fallback();
+            }
+        });
+    }
+
+    private static boolean shouldBlock(Profile profile, String resourceType, String host, String firstPartyDomain) {
+        boolean thirdParty = host != null && !host.equals(firstPartyDomain) && !host.endsWith("." + firstPartyDomain);
+        return switch (profile) {
+            case FUNCTIONAL -> thirdParty || MEDIA_TYPES.contains(resourceType);
+            case LEAN -> thirdParty || LEAN_TYPES.contains(resourceType);
+            default -> false;
+        };
+    }
+
+    /**
+     * Reset the blocked-request counters of the current thread at test start
+     */
+    static void startTest() {
+        blockedThread.get().clear();
+    }
+
+    /**
+     * Attach the blocked requests of the current test to the Allure report
+     */
+    public static void attachStats() {
+        Map<String, Integer> blocked = blockedThread.get();
+        if (blocked.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : blocked.entrySet()) {
+            summary.append(entry.getValue()).append("  ").append(entry.getKey()).append('\n');
+            total += entry.getValue();
+        }
+        summary.insert(0, String.format("Profile: %s, blocked requests: %d%n%n", getProfile(), total));
+        Allure.addAttachment("Blocked requests", "text/plain",
+            new ByteArrayInputStream(summary.toString().getBytes(StandardCharsets.UTF_8)), "txt");
+        blocked.clear();
+    }
+
+    /**
+     * Suite-wide blocking statistics
+     */
+    public static String getStats() {
+        return String.format("Request blocking: profile=%s blocked=%d", getProfile(), totalBlocked.get());
+    }
+
+    /**
+     * Check whether a URL belongs to the site under test (same registrable domain as BASE_URL)
+     */
+    static boolean isFirstParty(String url) {
+        String host = hostOf(url);
+        return host != null && siteDomain(host).equals(siteDomain(URI.create(ConfigManager.getBaseUrl()).getHost()));
+    }
+
+    /**
+     * Last two labels of a host name, e.g. automationexercise.com for www.automationexercise.com
+     */
+    private static String siteDomain(String host) {
+        String[] labels = host.split("\\.");
+        if (labels.length <= 2) {
+            return host;
+        }
+        return labels[labels.length - 2] + "." + labels[labels.length - 1];
+    }
+
+    private static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
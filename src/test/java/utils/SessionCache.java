@@ -0,0 +1,109 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import pages.LoginPage;
+
+/**
+ * Session Cache - Single Responsibility: Authenticated Session Reuse
+ * Logs each test user in once and keeps the resulting Playwright storage state
+ * (cookies and local storage) in memory, so new contexts can start already logged in
+ *
+ * Entries expire after -DsessionTtlMinutes (default 30).
+ * The site's /api/verifyLogin endpoint does not issue a session cookie,
+ * so the session is captured from one UI login in a throwaway context.
+ */
+public class SessionCache {
+    // One future per user: the first caller logs in, concurrent callers wait for its session
+    private static final Map<String, CompletableFuture<CachedSession>> sessions = new ConcurrentHashMap<>();
+
+    private record CachedSession(String storageState, long expiresAt) {
+        boolean isValid() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    /**
+     * Get the storage state of a logged-in session, logging in only when nothing valid is cached
+     * @param browser Browser used for the one-off UI login
+     * @param email User's email address
+     * @param password User's password
+     * @return Storage state JSON for Browser.NewContextOptions.setStorageState
+     */
+    public static String getStorageState(Browser browser, String email, String password) {
+        String key = ConfigManager.getBaseUrl() + "|" + email;
+        while (true) {
+            CompletableFuture<CachedSession> mine = new CompletableFuture<>();
+            CompletableFuture<CachedSession> existing = sessions.putIfAbsent(key, mine);
+            if (existing == null) {
+                // This caller won - log in outside any map lock
+                try {
+                    CachedSession session = login(browser, email, password);
+                    mine.complete(session);
+                    return session.storageState();
+                } catch (RuntimeException e) {
+                    sessions.remove(key, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            CachedSession session;
+            try {
+                session = existing.join();
+            } catch (CompletionException e) {
+                // The login this caller waited for failed; the winner already removed it
+                throw new IllegalStateException(
+                    String.format("Could not create a session for '%s'", email), e.getCause());
+            }
+            if (session.isValid()) {
+                return session.storageState();
+            }
+            sessions.remove(key, existing);
+        }
+    }
+
+    /**
+     * Drop the cached session of a user, e.g. after the server invalidated it
+     * @param email User's email address
+     */
+    public static void invalidate(String email) {
+        sessions.remove(ConfigManager.getBaseUrl() + "|" + email);
+    }
+
+    /**
+     * Clear all cached sessions
+     */
+    public static void clear() {
+        sessions.clear();
+    }
+
+    private static CachedSession login(Browser browser, String email, String password) {
+        BrowserContext context = browser.newContext(BrowserManager.newContextOptions());
+        try {
+            Page page = context.newPage();
+            page.navigate(ConfigManager.getBaseUrl() + "/login");
+
+            LoginPage loginPage = new LoginPage(page);
+            loginPage.login(email, password);
+            // submitLogin only waits for the navigation to commit - wait for the result page itself
+            if (!loginPage.awaitLoginOutcome().is(LoginPage.SUCCESS)) {
+                throw new IllegalStateException(
+                    String.format("Could not create a session for '%s' - UI login did not succeed.", email));
+            }
+
+            long ttl = TimeUnit.MINUTES.toMillis(Long.parseLong(ConfigManager.get("sessionTtlMinutes", "30")));
+            return new CachedSession(context.storageState(), System.currentTimeMillis() + ttl);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package utils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Shared Playwright - Single Responsibility: One Driver Process for All Workers
+ * Serves every worker thread from a single Playwright driver instead of one per thread
+ *
+ * Enabled with -DplaywrightMode=shared. Playwright Java objects are not thread-safe,
+ * so the shared instance lives on one dispatcher thread: workers receive proxies
+ * of Playwright, Browser, BrowserContext, Page, Locator, ... whose calls are all
+ * executed on that thread. Event handlers (routes, listeners) run on the dispatcher
+ * thread as well and receive proxies, so they may call back into Playwright.
+ *
+ * Strictly opt-in, and not meant for parallel runs: calls from all workers are
+ * serialised on the dispatcher, so a worker blocked in an auto-wait (a click waiting
+ * 10s for its element) holds up every other worker. It only pays off on nodes where
+ * driver memory, not throughput, limits the run - e.g. a serial suite next to others.
+ * shutdown() reports how long callers queued for the dispatcher; compare the suite
+ * duration with a default run before adopting it. Parallel workers that need fewer
+ * processes should connect to browser servers instead (-DbrowserServers, BrowserServerPool),
+ * which gives each worker its own connection.
+ * Per-browser memory sampling (BrowserWatchdog) is not available in this mode.
+ */
+public class SharedPlaywright {
+    private static final String API_PACKAGE = "com.microsoft.playwright";
+
+    // Canonical proxy per Playwright object (and wrapper per callback), so identity checks keep working
+    private static final Map<Object, WeakReference<Object>> proxies = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<Object, WeakReference<Object>> callbacks = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicLong dispatchedCalls = new AtomicLong();
+    private static final AtomicLong queuedNanos = new AtomicLong();
+    private static final AtomicLong busyNanos = new AtomicLong();
+    private static final Set<Thread> callers = ConcurrentHashMap.newKeySet();
+
+    private static ExecutorService dispatcher;
+    private static volatile Thread dispatcherThread;
+    private static Playwright shared;
+
+    /**
+     * Check whether the shared driver mode is configured
+     */
+    public static boolean isEnabled() {
+        return "shared".equalsIgnoreCase(ConfigManager.get("playwrightMode", "thread"));
+    }
+
+    /**
+     * Get the shared Playwright proxy, creating the driver on first use.
+     * Closing the returned instance is a no-op; the driver is closed by shutdown().
+     */
+    static synchronized Playwright get() {
+        if (shared == null) {
+            dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "playwright-dispatcher");
+                thread.setDaemon(true);
+                dispatcherThread = thread;
+                return thread;
+            });
+            shared = (Playwright) wrap(call(Playwright::create));
+        }
+        return shared;
+    }
+
+    /**
+     * Close the shared driver and stop the dispatcher
+     */
+    static synchronized void shutdown() {
+        if (shared == null) {
+            return;
+        }
+        Playwright target = (Playwright) ((Dispatching) Proxy.getInvocationHandler(shared)).target;
+        try {
+            call(() -> {
+                target.close();
+                return null;
+            });
+        } catch (Exception e) {
+            System.err.println("Error during shared Playwright shutdown: " + e.getMessage());
+        }
+        dispatcher.shutdown();
+        shared = null;
+        System.out.println(getStats());
+    }
+
+    /**
+     * Dispatcher statistics: calls, worker threads served, time callers queued behind
+     * other workers' calls and time the dispatcher spent executing calls
+     */
+    static String getStats() {
+        return String.format("Shared Playwright: dispatchedCalls=%d callerThreads=%d queuedMs=%d busyMs=%d",
+            dispatchedCalls.get(), callers.size(),
+            TimeUnit.NANOSECONDS.toMillis(queuedNanos.get()), TimeUnit.NANOSECONDS.toMillis(busyNanos.get()));
+    }
+
+    /**
+     * Run a call on the dispatcher thread, or directly if already on it (event handlers)
+     */
+    private static <T> T call(Callable<T> action) {
+        try {
+            if (Thread.currentThread() == dispatcherThread) {
+                return action.call();
+            }
+            dispatchedCalls.incrementAndGet();
+            if (callers.add(Thread.currentThread()) && callers.size() == 2) {
+                System.err.println("Warning: several worker threads share the Playwright dispatcher (-DplaywrightMode=shared); "
+                    + "their Playwright calls run one at a time");
+            }
+            long submitted = System.nanoTime();
+            Future<T> result = dispatcher.submit(() -> {
+                long started = System.nanoTime();
+                queuedNanos.addAndGet(started - submitted);
+                try {
+                    return action.call();
+                } finally {
+                    busyNanos.addAndGet(System.nanoTime() - started);
+                }
+            });
+            return result.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Playwright dispatcher", e);
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable error) {
+        if (error instanceof InvocationTargetException) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        return new IllegalStateException(error);
+    }
+
+    /**
+     * Wrap a Playwright object (or a list of them) in dispatching proxies; other values pass through
+     */
+    private static Object wrap(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> wrapped = new ArrayList<>(list.size());
+            for (Object element : list) {
+                wrapped.add(wrap(element));
+            }
+            return wrapped;
+        }
+        if (value == null || Proxy.isProxyClass(value.getClass())) {
+            return value;
+        }
+        Class<?>[] interfaces = apiInterfaces(value.getClass());
+        if (interfaces.length == 0) {
+            return value;
+        }
+        synchronized (proxies) {
+            WeakReference<Object> existing = proxies.get(value);
+            Object proxy = existing != null ? existing.get() : null;
+            if (proxy == null) {
+                proxy = Proxy.newProxyInstance(SharedPlaywright.class.getClassLoader(), interfaces, new Dispatching(value));
+                proxies.put(value, new WeakReference<>(proxy));
+            }
+            return proxy;
+        }
+    }
+
+    /**
+     * Turn proxies back into the real objects before they reach Playwright
+     */
+    private static Object unwrap(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> unwrapped = new ArrayList<>(list.size());
+            for (Object element : list) {
+                unwrapped.add(unwrap(element));
+            }
+            return unwrapped;
+        }
+        if (value != null && Proxy.isProxyClass(value.getClass())
+                && Proxy.getInvocationHandler(value) instanceof Dispatching dispatching) {
+            return dispatching.target;
+        }
+        return value;
+    }
+
+    /**
+     * Wrap a user callback so that the Playwright objects it receives are proxies too
+     */
+    private static Object wrapCallback(Object callback, Class<?> type) {
+        synchronized (callbacks) {
+            WeakReference<Object> existing = callbacks.get(callback);
+            Object wrapper = existing != null ? existing.get() : null;
+            if (wrapper == null) {
+                wrapper = Proxy.newProxyInstance(SharedPlaywright.class.getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return invokeObjectMethod(proxy, callback, method, args);
+                        }
+                        Object[] wrapped = args == null ? null : new Object[args.length];
+                        for (int i = 0; wrapped != null && i < args.length; i++) {
+                            wrapped[i] = wrap(args[i]);
+                        }
+                        try {
+                            return method.invoke(callback, wrapped);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+                callbacks.put(callback, new WeakReference<>(wrapper));
+            }
+            return wrapper;
+        }
+    }
+
+    /**
+     * Handlers, predicates and Playwright callback types - user code Playwright will call back
+     */
+    private static boolean isCallback(Class<?> type) {
+        return type.isInterface() && (type.isAnnotationPresent(FunctionalInterface.class)
+            || "java.util.function".equals(type.getPackageName())
+            || (API_PACKAGE + ".options").equals(type.getPackageName()));
+    }
+
+    private static Class<?>[] apiInterfaces(Class<?> type) {
+        Set<Class<?>> found = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                if (API_PACKAGE.equals(candidate.getPackageName())) {
+                    found.add(candidate);
+                }
+            }
+        }
+        return found.toArray(new Class<?>[0]);
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "Shared(" + target + ")";
+        };
+    }
+
+    /**
+     * Invocation handler executing every API call of one Playwright object on the dispatcher thread
+     */
+    private static final class Dispatching implements InvocationHandler {
+        private final Object target;
+
+        Dispatching(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            if (target instanceof Playwright && "close".equals(method.getName())) {
+                // Workers release the shared driver; it is closed once at suite end
+                return null;
+            }
+
+            Object[] actual = args == null ? null : new Object[args.length];
+            Class<?>[] types = method.getParameterTypes();
+            for (int i = 0; actual != null && i < args.length; i++) {
+                Class<?> type = types[i];
+                actual[i] = isCallback(type) && args[i] != null ? wrapCallback(args[i], type) : unwrap(args[i]);
+            }
+            return wrap(call(() -> method.invoke(target, actual)));
+        }
+    }
+}
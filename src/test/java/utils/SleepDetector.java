@@ -0,0 +1,128 @@
+package utils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Sleep Detector - Single Responsibility: Fixed Sleep Accounting
+ * Records every page.waitForTimeout() made by tests and page objects with its call site,
+ * so remaining fixed sleeps show up in the suite summary with the time they cost
+ *
+ * Pages handed out by BrowserManager are wrapped in a proxy that intercepts
+ * waitForTimeout and delegates everything else. Framework code (e.g. Waits) works on
+ * the unwrapped page, so its short event-pumping waits are not counted.
+ */
+public class SleepDetector {
+    private static final Set<String> SKIPPED_PREFIXES = Set.of("utils.SleepDetector", "jdk.proxy", "com.sun.proxy", "java.", "jdk.");
+
+    // Canonical proxy per page, so a page keeps one identity for test code
+    private static final Map<Page, WeakReference<Page>> proxies = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final Map<String, AtomicLong> millisBySite = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> callsBySite = new ConcurrentHashMap<>();
+
+    /**
+     * Wrap a page so its fixed sleeps are recorded
+     * @param page Page to watch, may be null
+     * @return Watching proxy of the page
+     */
+    static Page watch(Page page) {
+        if (page == null || isWatching(page)) {
+            return page;
+        }
+        synchronized (proxies) {
+            WeakReference<Page> existing = proxies.get(page);
+            Page proxy = existing != null ? existing.get() : null;
+            if (proxy == null) {
+                proxy = (Page) Proxy.newProxyInstance(SleepDetector.class.getClassLoader(),
+                    new Class<?>[] {Page.class}, new Watching(page));
+                proxies.put(page, new WeakReference<>(proxy));
+            }
+            return proxy;
+        }
+    }
+
+    /**
+     * Get the page behind a watching proxy
+     */
+    static Page unwrap(Page page) {
+        return isWatching(page) ? ((Watching) Proxy.getInvocationHandler(page)).target : page;
+    }
+
+    private static boolean isWatching(Page page) {
+        return page != null && Proxy.isProxyClass(page.getClass()) && Proxy.getInvocationHandler(page) instanceof Watching;
+    }
+
+    private static void record(long millis) {
+        String site = StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> SKIPPED_PREFIXES.stream().noneMatch(frame.getClassName()::startsWith))
+            .findFirst()
+            .map(frame -> frame.getClassName() + "." + frame.getMethodName() + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")")
+            .orElse("unknown"));
+        millisBySite.computeIfAbsent(site, key -> new AtomicLong()).addAndGet(millis);
+        callsBySite.computeIfAbsent(site, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Check whether any fixed sleep was recorded in this run
+     */
+    public static boolean hasSleeps() {
+        return !callsBySite.isEmpty();
+    }
+
+    /**
+     * Report of all fixed sleeps: total, then one line per call site, most expensive first
+     */
+    public static String getReport() {
+        long totalMillis = millisBySite.values().stream().mapToLong(AtomicLong::get).sum();
+        long totalCalls = callsBySite.values().stream().mapToLong(AtomicLong::get).sum();
+        String sites = millisBySite.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+            .map(entry -> String.format("  %dms in %d calls at %s",
+                entry.getValue().get(), callsBySite.get(entry.getKey()).get(), entry.getKey()))
+            .collect(Collectors.joining(System.lineSeparator()));
+        return String.format("Fixed sleeps: calls=%d wastedMs=%d%n%s", totalCalls, totalMillis, sites);
+    }
+
+    /**
+     * Invocation handler recording waitForTimeout calls and delegating every call to the page
+     */
+    private static final class Watching implements InvocationHandler {
+        private final Page target;
+
+        Watching(Page target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Watched(" + target + ")";
+                };
+            }
+            if ("waitForTimeout".equals(method.getName())) {
+                record(((Number) args[0]).longValue());
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+/**
+ * Static Asset Cache - Single Responsibility: Cross-Context HTTP Caching
+ * Keeps cacheable CSS, JS, fonts and images in a JVM-wide LRU cache and serves them
+ * to every context through request routing, since contexts never share the browser cache
+ *
+ * Enabled with -DassetCache=true, bounded by -DassetCacheMaxMb (default 64).
+ * Entries are keyed by URL and honour Cache-Control max-age; stale entries with
+ * an ETag or Last-Modified validator are revalidated with a conditional request.
+ * Responses marked private or no-store are not cached, and cookies are never stored,
+ * so nothing of one context's session is replayed into another. Responses with a Vary
+ * header other than Accept-Encoding are not cached either, since the cache is shared by all engines.
+ */
+public class StaticAssetCache {
+    private static final Set<String> CACHEABLE_TYPES = Set.of("stylesheet", "script", "font", "image");
+    private static final Set<String> HOP_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+    private static final Set<String> COOKIE_HEADERS = Set.of("set-cookie", "set-cookie2");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    // Access-ordered map = LRU; guarded by its own monitor
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private static long storedBytes;
+
+    // Statistics
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong revalidations = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong errors = new AtomicLong();
+
+    private record Entry(int status, Map<String, String> headers, byte[] body,
+                         String etag, String lastModified, long storedAt, long maxAgeMillis) {
+        boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < maxAgeMillis;
+        }
+
+        Entry refreshed() {
+            return new Entry(status, headers, body, etag, lastModified, System.currentTimeMillis(), maxAgeMillis);
+        }
+    }
+
+    /**
+     * Check whether the asset cache is configured.
+     * It stays off during HAR record/replay, which own the network for those runs.
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.get("assetCache", "false")) && !HarRouter.isEnabled();
+    }
+
+    /**
+     * Serve static assets of a new context from the shared cache
+     * @param context Newly created context
+     */
+    static void apply(BrowserContext context) {
+        if (!isEnabled()) {
+            return;
+        }
+        context.route("**/*", StaticAssetCache::handle);
+    }
+
+    /**
+     * Route handler installed by apply(): serves cacheable GET requests, passes on everything else
+     * @param route Intercepted request
+     */
+    public static void handle(Route route) {
+        Request request = route.request();
+        if ("GET".equals(request.method()) && CACHEABLE_TYPES.contains(request.resourceType())) {
+            try {
+                serve(route, request.url());
+            } catch (PlaywrightException e) {
+                // Network error or closed context - leave the request to the browser instead of hanging it
+                errors.incrementAndGet();
+                fallback(route);
+            }
+        } else {
+            route.fallback();
+        }
+    }
+
+    /**
+     * Drop all cached entries
+     */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+            storedBytes = 0;
+        }
+    }
+
+    private static void fallback(Route route) {
+        try {
+            route.fallback();
+        } catch (PlaywrightException e) {
+            // Route already handled or context closed - nothing left to resolve
+        }
+    }
+
+    private static void serve(Route route, String url) {
+        Entry cached = get(url);
+        if (cached != null && cached.isFresh()) {
+            fulfill(route, cached);
+            return;
+        }
+
+        if (cached != null && (cached.etag() != null || cached.lastModified() != null)) {
+            // Stale but revalidatable - a 304 lets us keep serving the stored body
+            Map<String, String> headers = new HashMap<>(route.request().headers());
+            if (cached.etag() != null) {
+                headers.put("if-none-match", cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                headers.put("if-modified-since", cached.lastModified());
+            }
+            APIResponse response = route.fetch(new Route.FetchOptions().setHeaders(headers));
+            if (response.status() == 304) {
+                revalidations.incrementAndGet();
+                Entry refreshed = cached.refreshed();
+                put(url, refreshed);
+                fulfill(route, refreshed);
+                return;
+            }
+            misses.incrementAndGet();
+            store(url, response);
+            route.fulfill(new Route.FulfillOptions().setResponse(response));
+            return;
+        }
+
+        misses.incrementAndGet();
+        APIResponse response = route.fetch();
+        store(url, response);
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    private static void fulfill(Route route, Entry entry) {
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(entry.body().length);
+        route.fulfill(new Route.FulfillOptions()
+            .setStatus(entry.status())
+            .setHeaders(entry.headers())
+            .setBodyBytes(entry.body()));
+    }
+
+    /**
+     * Store a response if its headers allow it
+     */
+    private static void store(String url, APIResponse response) {
+        if (response.status() != 200) {
+            return;
+        }
+        Map<String, String> headers = response.headers();
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase();
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return;
+        }
+        // The key is the URL only, and engines send different request headers: a response that
+        // varies on anything but the encoding (stored decoded) could reach the wrong engine
+        String vary = headers.getOrDefault("vary", "").trim().toLowerCase();
+        if (!vary.isEmpty() && !vary.equals("accept-encoding")) {
+            return;
+        }
+        long maxAgeMillis = 0;
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        if (matcher.find() && !cacheControl.contains("no-cache")) {
+            maxAgeMillis = Long.parseLong(matcher.group(1)) * 1000;
+        }
+        String etag = headers.get("etag");
+        String lastModified = headers.get("last-modified");
+        if (maxAgeMillis == 0 && etag == null && lastModified == null) {
+            return;
+        }
+
+        // The body is already decoded, so encoding and length headers no longer apply;
+        // cookies belong to the context that fetched the asset
+        Map<String, String> stored = new HashMap<>(headers);
+        stored.keySet().removeAll(HOP_HEADERS);
+        stored.keySet().removeAll(COOKIE_HEADERS);
+        put(url, new Entry(response.status(), stored, response.body(), etag, lastModified,
+            System.currentTimeMillis(), maxAgeMillis));
+    }
+
+    private static Entry get(String url) {
+        synchronized (entries) {
+            return entries.get(url);
+        }
+    }
+
+    private static void put(String url, Entry entry) {
+        long maxBytes = Long.parseLong(ConfigManager.get("assetCacheMaxMb", "64")) * 1024 * 1024;
+        if (entry.body().length > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(url, entry);
+            if (previous != null) {
+                storedBytes -= previous.body().length;
+            }
+            storedBytes += entry.body().length;
+
+            // Evict least recently used entries until the cache fits again
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (storedBytes > maxBytes && eldest.hasNext()) {
+                storedBytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Cache statistics: hit ratio, bytes served from memory and evictions
+     */
+    public static String getStats() {
+        long requests = hits.get() + misses.get();
+        double hitRatio = requests == 0 ? 0 : (double) hits.get() / requests;
+        synchronized (entries) {
+            return String.format("Asset cache: hits=%d misses=%d hitRatio=%.2f revalidated=%d " +
+                    "bytesSaved=%d evictions=%d errors=%d entries=%d storedBytes=%d",
+                hits.get(), misses.get(), hitRatio, revalidations.get(),
+                bytesSaved.get(), evictions.get(), errors.get(), entries.size(), storedBytes);
+        }
+    }
+}
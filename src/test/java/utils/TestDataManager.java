@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
@@ -14,14 +16,18 @@ import com.github.javafaker.Faker;
 /**
  * Test Data Manager - Single Responsibility: Test Data Management
  * Handles all test data operations: loading, generation, and transformation
+ *
+ * Thread-safe for parallel data providers: the cache is concurrent, callers get
+ * their own copy of each data row, and generated emails are unique across threads.
  */
 public class TestDataManager {
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Faker faker = new Faker();
+    private static final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
+    private static final AtomicLong emailSequence = new AtomicLong();
     private static final String TEST_DATA_PATH = "src/test/resources/testdata/";
     
     // Cache for loaded test data
-    private static final Map<String, List<Map<String, Object>>> dataCache = new HashMap<>();
+    private static final Map<String, List<Map<String, Object>>> dataCache = new ConcurrentHashMap<>();
     
     /**
      * Load test data from JSON file with caching
@@ -29,11 +35,11 @@ public class TestDataManager {
      * @return List of test data maps
      */
     public static List<Map<String, Object>> loadTestData(String filename) {
-        // Check cache first
-        if (dataCache.containsKey(filename)) {
-            return dataCache.get(filename);
-        }
-        
+        // Check cache first; loads of the same file from parallel threads happen once
+        return dataCache.computeIfAbsent(filename, TestDataManager::readTestData);
+    }
+    
+    private static List<Map<String, Object>> readTestData(String filename) {
         try {
             File file = Paths.get(TEST_DATA_PATH, filename).toFile();
             List<Map<String, Object>> data = objectMapper.readValue(
@@ -44,11 +50,7 @@ public class TestDataManager {
             );
             
             // Process data placeholders
-            data = processDataPlaceholders(data);
-            
-            // Cache the data
-            dataCache.put(filename, data);
-            return data;
+            return processDataPlaceholders(data);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load test data from: " + filename, e);
         }
@@ -58,7 +60,7 @@ public class TestDataManager {
      * Get specific test data by index
      * @param filename JSON file name
      * @param index Data index in the file
-     * @return Test data map at specified index
+     * @return Copy of the test data map at specified index (safe to modify)
      */
     public static Map<String, Object> getTestDataAt(String filename, int index) {
         List<Map<String, Object>> dataList = loadTestData(filename);
@@ -68,19 +70,19 @@ public class TestDataManager {
                     index, filename, dataList.size())
             );
         }
-        return dataList.get(index);
+        return new HashMap<>(dataList.get(index));
     }
     
     /**
      * Convert test data to TestNG DataProvider format
      * @param filename JSON file name
-     * @return Object[][] for TestNG DataProvider
+     * @return Object[][] for TestNG DataProvider, one copy of each row (safe to modify)
      */
     public static Object[][] toDataProvider(String filename) {
         List<Map<String, Object>> dataList = loadTestData(filename);
         Object[][] result = new Object[dataList.size()][1];
         for (int i = 0; i < dataList.size(); i++) {
-            result[i][0] = dataList.get(i);
+            result[i][0] = new HashMap<>(dataList.get(i));
         }
         return result;
     }
@@ -130,10 +132,10 @@ public class TestDataManager {
     
     /**
      * Generate unique email address
-     * @return Unique email string
+     * @return Unique email string (also across threads generating in the same millisecond)
      */
     public static String generateUniqueEmail() {
-        return "test_" + System.currentTimeMillis() + "@testmail.com";
+        return "test_" + System.currentTimeMillis() + "_" + emailSequence.incrementAndGet() + "@testmail.com";
     }
     
     /**
@@ -141,7 +143,7 @@ public class TestDataManager {
      * @return Random full name
      */
     public static String generateRandomName() {
-        return faker.name().fullName();
+        return faker.get().name().fullName();
     }
     
     /**
@@ -149,7 +151,7 @@ public class TestDataManager {
      * @return Random password meeting security requirements
      */
     public static String generateRandomPassword() {
-        return faker.internet().password(10, 16, true, true, true) + "1!";
+        return faker.get().internet().password(10, 16, true, true, true) + "1!";
     }
     
     /**
@@ -162,14 +164,14 @@ public class TestDataManager {
             case "email" -> generateUniqueEmail();
             case "name" -> generateRandomName();
             case "password" -> generateRandomPassword();
-            case "phone" -> faker.phoneNumber().cellPhone();
-            case "address" -> faker.address().fullAddress();
-            case "company" -> faker.company().name();
-            case "city" -> faker.address().city();
-            case "state" -> faker.address().state();
-            case "zipcode" -> faker.address().zipCode();
-            case "country" -> faker.address().country();
-            default -> faker.lorem().word();
+            case "phone" -> faker.get().phoneNumber().cellPhone();
+            case "address" -> faker.get().address().fullAddress();
+            case "company" -> faker.get().company().name();
+            case "city" -> faker.get().address().city();
+            case "state" -> faker.get().address().state();
+            case "zipcode" -> faker.get().address().zipCode();
+            case "country" -> faker.get().address().country();
+            default -> faker.get().lorem().word();
         };
     }
     
@@ -1,21 +1,89 @@
 package utils;
 
-import com.microsoft.playwright.Page;
-import io.qameta.allure.Allure;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.ByteArrayInputStream;
+public class TestListeners implements ITestListener, ISuiteListener, IInvokedMethodListener {
 
-public class TestListeners implements ITestListener {
-    public static ThreadLocal<Page> currentPage = new ThreadLocal<>();
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            ApiAttachments.startTest();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Runs while the Allure test case is still open, unlike onTestFailure
+        if (method.isTestMethod()) {
+            ApiAttachments.endTest(!testResult.isSuccess());
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        // Reject a mistyped attachment policy once, before any API call
+        ApiAttachments.getPolicy();
+        // Start launching pooled browsers before the first test asks for one
+        BrowserPool.start();
+    }
 
     @Override
-    public void onTestFailure(ITestResult result) {
-        Page page = currentPage.get();
-        if (page != null) {
-            byte[] png = page.screenshot(new Page.ScreenshotOptions().setFullPage(true));
-            Allure.addAttachment("screenshot", new ByteArrayInputStream(png));
+    public void onFinish(ISuite suite) {
+        // Worker-scoped browsers live for the whole suite - release them once here
+        BrowserManager.shutdown();
+        BrowserPool.shutdown();
+        BrowserServerPool.shutdown();
+        if (ApiAttachments.hasRecorded()) {
+            System.out.println(ApiAttachments.getStats());
+        }
+        if (HttpPoolState.created) {
+            // Checked without touching HttpConnectionPool, so UI-only runs never load the HTTP client classes.
+            // The pool stays open for later suites in this JVM; a shutdown hook closes it
+            System.out.println(HttpConnectionPool.getStats());
+        }
+        // Failure artifacts are written in the background - make sure they reach the results
+        ArtifactPipeline.drain();
+        System.out.println(BrowserWatchdog.getStats());
+        if (RequestBlocker.getProfile() != RequestBlocker.Profile.FULL) {
+            System.out.println(RequestBlocker.getStats());
+        }
+        if (StaticAssetCache.isEnabled()) {
+            System.out.println(StaticAssetCache.getStats());
+        }
+        if (TraceRecorder.isEnabled()) {
+            System.out.println(TraceRecorder.getStats());
+        }
+        if (VideoRecorder.isEnabled()) {
+            System.out.println(VideoRecorder.getStats());
+        }
+        if (FlowRouter.hasRouted()) {
+            System.out.println(FlowRouter.getStats());
+        }
+        if (NavigationStrategy.hasTimings()) {
+            System.out.println(NavigationStrategy.getStats());
+        }
+        if (SleepDetector.hasSleeps()) {
+            System.out.println(SleepDetector.getReport());
+        }
+        if (OutcomeRace.hasRaced()) {
+            System.out.println(OutcomeRace.getStats());
+        }
+        if (FormFiller.hasFilled()) {
+            System.out.println(FormFiller.getStats());
+        }
+        if (ArtifactPipeline.hasCaptured()) {
+            System.out.println(ArtifactPipeline.getStats());
+        }
+        if (TestUserRegistry.hasUsers()) {
+            System.out.println(TestUserRegistry.getStats());
+        }
+        if (ContextRecycler.isEnabled()) {
+            System.out.println(ContextRecycler.getStats());
         }
     }
 }
@@ -0,0 +1,195 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test User Registry - Single Responsibility: Provisioning Each Test User Once
+ * Makes sure a test user exists on the site under test, running the provisioning
+ * (API login check, registration) at most once per user and run
+ *
+ * - Concurrent callers for the same user wait for the one provisioning in progress
+ * - A failed provisioning is not remembered, the next caller tries again
+ * - Verified users are kept in -DtestUserCache (default .cache/test-users.json) and
+ *   trusted for -DtestUserTtlHours (default 24) in later runs; 0 disables the file
+ * - Saving merges the file's current entries, so runs finishing together keep each other's users
+ * - invalidate() drops a user whose login the site rejected (e.g. the account was deleted)
+ *
+ * Keys include the base URL, so users verified on one environment are not trusted on another.
+ */
+public class TestUserRegistry {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Map<String, CompletableFuture<Void>> users = new ConcurrentHashMap<>();
+
+    private static final AtomicLong provisioned = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+    private static final AtomicLong fromFile = new AtomicLong();
+
+    // Verification time per key, as read from and written to the cache file
+    private static Map<String, Long> verified;
+    // Keys this run removed, so merging the file does not bring them back
+    private static final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Provisions a test user
+     * Throws an exception if the user could not be provisioned; it is then not marked as existing.
+     */
+    @FunctionalInterface
+    public interface Provisioner {
+        void provision() throws Exception;
+    }
+
+    /**
+     * Make sure a user exists, provisioning it only if this run has not done so yet
+     * and the cache file has no fresh verification
+     * @param email User's email address
+     * @param provisioner Creates or verifies the user, called at most once per user and run
+     */
+    public static void ensure(String email, Provisioner provisioner) {
+        String key = ConfigManager.getBaseUrl() + "|" + email;
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> existing = users.putIfAbsent(key, mine);
+        if (existing != null) {
+            reused.incrementAndGet();
+            try {
+                existing.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Provisioning of test user '" + email + "' failed", e.getCause());
+            }
+            return;
+        }
+
+        try {
+            if (isFresh(key)) {
+                fromFile.incrementAndGet();
+            } else {
+                provisioner.provision();
+                provisioned.incrementAndGet();
+                markVerified(key);
+            }
+            mine.complete(null);
+        } catch (Exception e) {
+            // Let the next caller try again
+            users.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw new IllegalStateException("Provisioning of test user '" + email + "' failed", e);
+        }
+    }
+
+    /**
+     * Forget a user, e.g. after the site rejected its credentials, so the next ensure() provisions it again
+     * @param email User's email address
+     */
+    public static synchronized void invalidate(String email) {
+        String key = ConfigManager.getBaseUrl() + "|" + email;
+        users.remove(key);
+        invalidated.add(key);
+        verified().remove(key);
+        save();
+    }
+
+    /**
+     * Forget every user of this run; the cache file is read again on next use.
+     * For unit tests and for separate runs inside one JVM.
+     */
+    public static synchronized void clear() {
+        users.clear();
+        invalidated.clear();
+        verified = null;
+    }
+
+    private static long ttlMillis() {
+        return TimeUnit.HOURS.toMillis(Long.parseLong(ConfigManager.get("testUserTtlHours", "24")));
+    }
+
+    private static Path cacheFile() {
+        return Paths.get(ConfigManager.get("testUserCache", ".cache/test-users.json"));
+    }
+
+    private static synchronized boolean isFresh(String key) {
+        Long verifiedAt = verified().get(key);
+        return verifiedAt != null && System.currentTimeMillis() - verifiedAt < ttlMillis();
+    }
+
+    private static synchronized void markVerified(String key) {
+        verified().put(key, System.currentTimeMillis());
+        invalidated.remove(key);
+        save();
+    }
+
+    private static Map<String, Long> verified() {
+        if (verified == null) {
+            verified = new ConcurrentHashMap<>();
+            if (ttlMillis() > 0) {
+                verified.putAll(read(cacheFile()));
+            }
+        }
+        return verified;
+    }
+
+    private static Map<String, Long> read(Path file) {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), new TypeReference<Map<String, Long>>() {});
+        } catch (IOException e) {
+            System.err.println("Warning: Ignoring unreadable test user cache " + file + " - " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static void save() {
+        if (ttlMillis() <= 0) {
+            return;
+        }
+        Path file = cacheFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Merge entries other runs wrote since this run read the file: newest verification wins,
+            // users this run invalidated stay removed
+            read(file).forEach((key, verifiedAt) -> {
+                if (!invalidated.contains(key)) {
+                    verified.merge(key, verifiedAt, Math::max);
+                }
+            });
+            // Write a complete file and move it into place, so a parallel run never reads half of it
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "test-users", ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), verified);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not write test user cache " + file + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether any user was requested in this run
+     */
+    public static boolean hasUsers() {
+        return !users.isEmpty() || provisioned.get() > 0;
+    }
+
+    /**
+     * Registry statistics: users provisioned, taken from the cache file, and requests served without provisioning
+     */
+    public static String getStats() {
+        return String.format("Test users: provisioned=%d fromCacheFile=%d reused=%d",
+            provisioned.get(), fromFile.get(), reused.get());
+    }
+}
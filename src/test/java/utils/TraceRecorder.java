@@ -0,0 +1,103 @@
+package utils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Trace Recorder - Single Responsibility: On-Demand Playwright Tracing
+ * Traces every test, but only writes the trace zip (and attaches it to Allure)
+ * for failed tests or for passing tests picked by the sampling rate
+ *
+ * Configuration:
+ * - tracing=true              enable tracing (default false)
+ * - tracingSampleRate=0.0     share of passing tests whose trace is kept as well
+ * - tracingSnapshots=true     DOM snapshots for every action
+ * - tracingScreenshots=false  screencast frames (much larger traces)
+ * - tracingSources=false      test sources in the trace
+ *
+ * Until a chunk is stopped with a path, the trace stays in the driver's buffers,
+ * so passing tests pay no disk cost.
+ */
+public class TraceRecorder {
+    private static final ThreadLocal<Boolean> recordingThread = ThreadLocal.withInitial(() -> false);
+    private static final AtomicLong kept = new AtomicLong();
+    private static final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Check whether tracing is configured
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.get("tracing", "false"));
+    }
+
+    /**
+     * Start a trace chunk for the test about to use the context
+     * @param context Context of the test
+     * @param reused true if the context already traced a previous test (recycled)
+     * @param testId Identifier of the test, used as trace title
+     */
+    static void begin(BrowserContext context, boolean reused, String testId) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (reused) {
+            context.tracing().startChunk(new Tracing.StartChunkOptions().setTitle(testId));
+        } else {
+            context.tracing().start(new Tracing.StartOptions()
+                .setTitle(testId)
+                .setSnapshots(Boolean.parseBoolean(ConfigManager.get("tracingSnapshots", "true")))
+                .setScreenshots(Boolean.parseBoolean(ConfigManager.get("tracingScreenshots", "false")))
+                .setSources(Boolean.parseBoolean(ConfigManager.get("tracingSources", "false"))));
+        }
+        recordingThread.set(true);
+    }
+
+    /**
+     * Stop the current chunk; keep and attach it only if the test failed or was sampled
+     * @param context Context of the test
+     * @param failed true if the test failed
+     */
+    static void end(BrowserContext context, boolean failed) {
+        if (!recordingThread.get()) {
+            return;
+        }
+        recordingThread.set(false);
+        double sampleRate = Double.parseDouble(ConfigManager.get("tracingSampleRate", "0.0"));
+        boolean keep = failed || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        try {
+            if (!keep) {
+                context.tracing().stopChunk();
+                discarded.incrementAndGet();
+                return;
+            }
+            Path trace = Files.createTempFile("trace-", ".zip");
+            try {
+                context.tracing().stopChunk(new Tracing.StopChunkOptions().setPath(trace));
+                try (InputStream stream = Files.newInputStream(trace)) {
+                    Allure.addAttachment(failed ? "Playwright trace (failed)" : "Playwright trace (sampled)",
+                        "application/zip", stream, "zip");
+                }
+                kept.incrementAndGet();
+            } finally {
+                Files.deleteIfExists(trace);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to save Playwright trace: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tracing statistics
+     */
+    public static String getStats() {
+        return String.format("Tracing: kept=%d discarded=%d", kept.get(), discarded.get());
+    }
+}
@@ -0,0 +1,121 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Video;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Video Recorder - Single Responsibility: Failure Video Retention
+ * Records every context at reduced resolution, attaches videos of failed tests
+ * to Allure and deletes all others as soon as their context is closed
+ *
+ * Configuration:
+ * - video=true             enable recording (default false)
+ * - videoScale=0.5         recording size relative to the 1920x1080 viewport
+ * - videoMaxTotalMb=200    cap on video bytes attached per run; later failures are not attached.
+ *                          It does not limit recording: each context records in full, and its
+ *                          videos stay on disk only until the context is closed.
+ *
+ * Videos are handled through Video.saveAs() / delete(), which also work for browsers
+ * connected remotely (BrowserServerPool), where Video.path() is not available.
+ */
+public class VideoRecorder {
+    private static final int VIEWPORT_WIDTH = 1920;
+    private static final int VIEWPORT_HEIGHT = 1080;
+
+    private static Path videoDir;
+    private static final AtomicLong attachedBytes = new AtomicLong();
+    private static final AtomicLong attached = new AtomicLong();
+    private static final AtomicLong deleted = new AtomicLong();
+    private static final AtomicLong overBudget = new AtomicLong();
+
+    /**
+     * Check whether video recording is configured
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.get("video", "false"));
+    }
+
+    /**
+     * Add video recording to the options of a new context
+     * @param options Context options to extend
+     */
+    static void configure(Browser.NewContextOptions options) {
+        if (!isEnabled()) {
+            return;
+        }
+        double scale = Double.parseDouble(ConfigManager.get("videoScale", "0.5"));
+        // Video encoders want even dimensions
+        int width = Math.max(2, (int) (VIEWPORT_WIDTH * scale) & ~1);
+        int height = Math.max(2, (int) (VIEWPORT_HEIGHT * scale) & ~1);
+        options.setRecordVideoDir(getVideoDir()).setRecordVideoSize(width, height);
+    }
+
+    private static synchronized Path getVideoDir() {
+        if (videoDir == null) {
+            try {
+                videoDir = Files.createTempDirectory("playwright-videos-");
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create video directory", e);
+            }
+        }
+        return videoDir;
+    }
+
+    /**
+     * Keep or delete the videos of a context that has just been closed
+     * @param videos Videos of the context's pages, collected before closing
+     * @param failed true if the test failed
+     */
+    static void finish(List<Video> videos, boolean failed) {
+        long maxBytes = Long.parseLong(ConfigManager.get("videoMaxTotalMb", "200")) * 1024 * 1024;
+        for (Video video : videos) {
+            try {
+                if (failed) {
+                    attach(video, maxBytes);
+                }
+                video.delete();
+                deleted.incrementAndGet();
+            } catch (Exception e) {
+                System.err.println("Failed to process video: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void attach(Video video, long maxBytes) throws IOException {
+        // saveAs copies the video from wherever the browser runs, including a remote server
+        Path copy = Files.createTempFile(getVideoDir(), "failed-", ".webm");
+        try {
+            video.saveAs(copy);
+            long size = Files.size(copy);
+            if (attachedBytes.addAndGet(size) <= maxBytes) {
+                try (InputStream stream = Files.newInputStream(copy)) {
+                    Allure.addAttachment("Video", "video/webm", stream, "webm");
+                }
+                attached.incrementAndGet();
+            } else {
+                attachedBytes.addAndGet(-size);
+                overBudget.incrementAndGet();
+                System.err.println("Video budget of " + maxBytes + " bytes exhausted, not attaching a video of " + size + " bytes");
+            }
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    /**
+     * Video statistics
+     */
+    public static String getStats() {
+        return String.format("Video: attached=%d attachedBytes=%d overBudget=%d deleted=%d",
+            attached.get(), attachedBytes.get(), overBudget.get(), deleted.get());
+    }
+}
@@ -0,0 +1,158 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+
+/**
+ * Waits - Single Responsibility: Event-Driven Stability Waits
+ * Replaces fixed sleeps with waits that end as soon as the page is actually stable
+ *
+ * - forDomQuiet:        no DOM mutation for a quiet period (MutationObserver)
+ * - forFirstPartyIdle:  no request to the site under test in flight for a quiet period;
+ *                       third-party traffic (ads, analytics) is ignored
+ * - forUrl / forState:  URL predicate or JavaScript state predicate
+ *
+ * Configuration: -DquietMs=300 (quiet period), -DstabilityTimeoutMs=10000
+ */
+public class Waits {
+    private static final String DOM_QUIET_SCRIPT = """
+        quietMs => {
+          if (!window.__domQuiet) {
+            window.__domQuiet = { last: performance.now() };
+            new MutationObserver(() => { window.__domQuiet.last = performance.now(); })
+              .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+          }
+          return performance.now() - window.__domQuiet.last >= quietMs;
+        }
+        """;
+
+    // In-flight first-party requests per page, fed by request events since the page was created
+    private static final Map<Page, Tracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class Tracker {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastChange = System.currentTimeMillis();
+
+        private void started() {
+            inFlight.incrementAndGet();
+            lastChange = System.currentTimeMillis();
+        }
+
+        private void ended() {
+            inFlight.updateAndGet(count -> Math.max(0, count - 1));
+            lastChange = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Start counting the first-party requests of a page (called by BrowserManager for every new page)
+     */
+    static void track(Page page) {
+        if (trackers.containsKey(page)) {
+            return;
+        }
+        Tracker tracker = new Tracker();
+        trackers.put(page, tracker);
+        page.onRequest(request -> {
+            if (RequestBlocker.isFirstParty(request.url())) {
+                tracker.started();
+            }
+        });
+        page.onRequestFinished(request -> {
+            if (RequestBlocker.isFirstParty(request.url())) {
+                tracker.ended();
+            }
+        });
+        page.onRequestFailed(request -> {
+            if (RequestBlocker.isFirstParty(request.url())) {
+                tracker.ended();
+            }
+        });
+    }
+
+    private static long quietMs() {
+        return Long.parseLong(ConfigManager.get("quietMs", "300"));
+    }
+
+    private static long timeoutMs() {
+        return Long.parseLong(ConfigManager.get("stabilityTimeoutMs", "10000"));
+    }
+
+    /**
+     * Wait until the DOM has not changed for the configured quiet period
+     */
+    public static void forDomQuiet(Page page) {
+        forDomQuiet(page, quietMs());
+    }
+
+    /**
+     * Wait until the DOM has not changed for the given quiet period
+     * @param page Page to watch
+     * @param quietMs Required time without mutations
+     */
+    public static void forDomQuiet(Page page, long quietMs) {
+        SleepDetector.unwrap(page).waitForFunction(DOM_QUIET_SCRIPT, quietMs,
+            new Page.WaitForFunctionOptions().setPollingInterval(50).setTimeout(timeoutMs()));
+    }
+
+    /**
+     * Wait until no first-party request has been in flight for the configured quiet period
+     */
+    public static void forFirstPartyIdle(Page page) {
+        forFirstPartyIdle(page, quietMs());
+    }
+
+    /**
+     * Wait until no first-party request has been in flight for the given quiet period
+     * @param page Page to watch
+     * @param quietMs Required time without first-party requests
+     */
+    public static void forFirstPartyIdle(Page page, long quietMs) {
+        Page raw = SleepDetector.unwrap(page);
+        Tracker tracker = trackers.get(raw);
+        if (tracker == null) {
+            // Page not created by BrowserManager - fall back to Playwright's idle heuristic
+            raw.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(timeoutMs()));
+            return;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMs();
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutError("First-party requests still in flight after " + timeoutMs() + "ms: " + tracker.inFlight.get());
+            }
+            // Request events are only delivered while Playwright is waiting, so wait through Playwright
+            raw.waitForCondition(() -> tracker.inFlight.get() == 0, new Page.WaitForConditionOptions().setTimeout(remaining));
+            long idleFor = System.currentTimeMillis() - tracker.lastChange;
+            if (idleFor >= quietMs) {
+                return;
+            }
+            raw.waitForTimeout(Math.min(quietMs - idleFor, remaining));
+        }
+    }
+
+    /**
+     * Wait until the page URL satisfies a predicate
+     * @param page Page to watch
+     * @param predicate Condition on the URL
+     */
+    public static void forUrl(Page page, Predicate<String> predicate) {
+        SleepDetector.unwrap(page).waitForURL(predicate, new Page.WaitForURLOptions().setTimeout(timeoutMs()));
+    }
+
+    /**
+     * Wait until a JavaScript predicate over the page state is true
+     * @param page Page to watch
+     * @param expression JavaScript expression or function, e.g. "() => document.cookie.includes('sessionid')"
+     */
+    public static void forState(Page page, String expression) {
+        SleepDetector.unwrap(page).waitForFunction(expression, null, new Page.WaitForFunctionOptions().setTimeout(timeoutMs()));
+    }
+}